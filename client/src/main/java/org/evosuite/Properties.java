@@ -332,6 +332,10 @@ public class Properties {
     @Parameter(key = "ranking_type", group = "Runtime", description = "type of ranking to use in MOSA")
     public static RankingType RANKING_TYPE = RankingType.PREFERENCE_SORTING;
 
+    @Parameter(key = "goal_evaluation_threads", group = "Search Algorithm", description = "Number of threads evaluating the current goals of DynaMOSA in parallel after a test has been executed")
+    @IntValue(min = 1)
+    public static int GOAL_EVALUATION_THREADS = 1;
+
     public enum MapElitesChoice {
         ALL,
         SINGLE,
@@ -502,6 +506,20 @@ public class Properties {
     @Parameter(key = "cvc4_path", group = "DSE", description = "Indicates the path to the CVC4 solver")
     public static String CVC4_PATH = null;
 
+    @Parameter(key = "dse_incremental_solver", group = "DSE", description = "Keep the Z3 process alive between queries and only send the assertions that differ from the previous query. With dse_solver_threads > 1, each query solved in parallel uses its own Z3 process")
+    public static boolean DSE_INCREMENTAL_SOLVER = false;
+
+    @Parameter(key = "dse_solver_cache_file", group = "DSE", description = "File in which solver results are shared between client processes and runs")
+    public static String DSE_SOLVER_CACHE_FILE = null;
+
+    @Parameter(key = "dse_solver_cache_size", group = "DSE", description = "Maximum number of solver results kept in the solver cache")
+    @IntValue(min = 1)
+    public static int DSE_SOLVER_CACHE_SIZE = 100000;
+
+    @Parameter(key = "dse_solver_threads", group = "DSE", description = "Number of threads solving the queries of the children of an explored path in parallel. Only used with an external solver (Z3 or CVC4). With dse_incremental_solver, up to this many Z3 processes are kept alive")
+    @IntValue(min = 1)
+    public static int DSE_SOLVER_THREADS = 1;
+
     public enum DSEStoppingConditionCriterion {
         TARGETCOVERAGE,
         MAXTIME,
@@ -920,6 +938,9 @@ public class Properties {
     @Parameter(key = "ctg_seeds_ext", group = "Continuous Test Generation", description = "File extension for serialized test files")
     public static String CTG_SEEDS_EXT = "seed";
 
+    @Parameter(key = "ctg_classpath_index_dir_name", group = "Continuous Test Generation", description = "Name of the folder where the classpath index shared by all CTG runs is stored")
+    public static String CTG_CLASSPATH_INDEX_DIR_NAME = "classpath-index";
+
     @Parameter(key = "ctg_project_info", group = "Continuous Test Generation", description = "XML file which stores stats about all CTG executions")
     public static String CTG_PROJECT_INFO = "project_info.xml";
 
@@ -1163,6 +1184,9 @@ public class Properties {
     @Parameter(key = "max_mutants_per_test", group = "Output", description = "How many mutants to use when trying to find assertions for a test")
     public static int MAX_MUTANTS_PER_TEST = 100;
 
+    @Parameter(key = "assertion_skip_uninfected_mutants", group = "Output", description = "Do not execute a test on mutants that its execution on the original class reaches but never infects")
+    public static boolean ASSERTION_SKIP_UNINFECTED_MUTANTS = true;
+
     @Parameter(key = "max_mutants_per_method", group = "Output", description = "How many mutants can be inserted into a single method")
     public static int MAX_MUTANTS_PER_METHOD = 700;
 
@@ -1296,6 +1320,9 @@ public class Properties {
     @Parameter(key = "inheritance_file", description = "Cached version of inheritance tree")
     public static String INHERITANCE_FILE = "";
 
+    @Parameter(key = "classpath_index_dir", description = "If specified, folder in which the structure of the classes in the classpath jars is cached, keyed by jar checksum")
+    public static String CLASSPATH_INDEX_DIR = null;
+
     @Parameter(key = "branch_eval", description = "Jeremy's branch evaluation")
     public static boolean BRANCH_EVAL = false;
 
@@ -1454,6 +1481,9 @@ public class Properties {
     @Parameter(key = "timeout_reset", group = "Test Execution", description = "Milliseconds allowed to execute the static reset of a test")
     public static int TIMEOUT_RESET = 2000;
 
+    @Parameter(key = "execution_cache_size", group = "Test Execution", description = "Number of execution results cached by the code of the executed test prefix (0 disables the cache)")
+    public static int EXECUTION_CACHE_SIZE = 0;
+
 
     @Parameter(key = "concolic_timeout", group = "Test Execution", description = "Milliseconds allowed per test during concolic execution")
     public static int CONCOLIC_TIMEOUT = 15000;
@@ -50,7 +50,9 @@ import org.evosuite.setup.DependencyAnalysis;
 import org.evosuite.setup.TestCluster;
 import org.evosuite.setup.TestClusterGenerator;
 import org.evosuite.symbolic.dse.DSEStatistics;
+import org.evosuite.symbolic.solver.SmtSolverSession;
 import org.evosuite.testcarver.extraction.CarvingManager;
+import org.evosuite.testcase.execution.ExecutionResultCache;
 import org.evosuite.testcase.execution.ExecutionTracer;
 import org.evosuite.testcase.execution.TestCaseExecutor;
 import org.evosuite.testcase.execution.reset.ClassReInitializer;
@@ -185,6 +187,7 @@ public class TestGenerationContext {
         Properties.resetTargetClass();
 
         TestCaseExecutor.initExecutor();
+        ExecutionResultCache.getInstance().clear();
 
         Archive.getArchiveInstance().reset();
 
@@ -224,6 +227,7 @@ public class TestGenerationContext {
         MethodCallReplacementCache.resetSingleton();
 
         DSEStatistics.clear();
+        SmtSolverSession.closeAll();
 
         // keep the list of initialized classes (clear them when needed in
         // the system test cases)
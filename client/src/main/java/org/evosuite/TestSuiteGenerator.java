@@ -49,6 +49,8 @@ import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.statistics.StatisticsSender;
 import org.evosuite.strategy.TestGenerationStrategy;
 import org.evosuite.symbolic.dse.DSEStatistics;
+import org.evosuite.symbolic.solver.SmtSolverSession;
+import org.evosuite.symbolic.solver.SolverCache;
 import org.evosuite.testcase.*;
 import org.evosuite.testcase.execution.*;
 import org.evosuite.testcase.execution.reset.ClassReInitializer;
@@ -469,6 +471,8 @@ public class TestSuiteGenerator {
 
         if (Properties.isDSEEnabledInLocalSearch() || Properties.isDSEStrategySelected()) {
             DSEStatistics.getInstance().logStatistics();
+            SolverCache.getInstance().save();
+            SmtSolverSession.closeAll();
         }
 
         if (Properties.FILTER_SANDBOX_TESTS) {
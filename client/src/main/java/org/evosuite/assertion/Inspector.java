@@ -23,6 +23,7 @@ import org.evosuite.TestGenerationContext;
 import org.evosuite.runtime.sandbox.Sandbox;
 import org.evosuite.setup.TestClusterUtils;
 import org.evosuite.utils.LoggingUtils;
+import org.evosuite.utils.generic.ExecutableInvoker;
 import org.objectweb.asm.Type;
 
 import java.io.IOException;
@@ -36,6 +37,8 @@ public class Inspector implements Serializable {
 
     private static final long serialVersionUID = -6865880297202184953L;
 
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
     private transient Class<?> clazz;
 
     private transient Method method;
@@ -80,7 +83,7 @@ public class Inspector implements Serializable {
         Object ret = null;
 
         try {
-            ret = this.method.invoke(object);
+            ret = ExecutableInvoker.invoke(this.method, object, NO_ARGUMENTS);
         } finally {
             if (needsSandbox) {
                 if (!safe)
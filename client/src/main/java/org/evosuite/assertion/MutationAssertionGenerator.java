@@ -45,6 +45,7 @@ import org.slf4j.LoggerFactory;
 
 import java.text.NumberFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class executes a test case on a unit and all mutants and infers
@@ -70,9 +71,9 @@ public abstract class MutationAssertionGenerator extends AssertionGenerator {
     protected final static ArrayLengthObserver arrayLengthObserver = new ArrayLengthObserver();
     protected final static ContainsTraceObserver containsTraceObserver = new ContainsTraceObserver();
 
-    protected final static Map<Mutation, Integer> timedOutMutations = new HashMap<>();
+    protected final static Map<Mutation, Integer> timedOutMutations = new ConcurrentHashMap<>();
 
-    protected final static Map<Mutation, Integer> exceptionMutations = new HashMap<>();
+    protected final static Map<Mutation, Integer> exceptionMutations = new ConcurrentHashMap<>();
 
     /**
      * Constant <code>observerClasses</code>
@@ -158,6 +159,22 @@ public abstract class MutationAssertionGenerator extends AssertionGenerator {
         return result;
     }
 
+    /**
+     * A mutant can only change the behaviour of a test if the test infects it,
+     * ie, if the mutated instruction computes a different value at least once.
+     * If the execution on the original class reaches the mutant but never
+     * infects it, the execution on the mutant is identical and cannot lead
+     * to any assertion.
+     *
+     * @param origResult result of the execution on the original class
+     * @param mutationId
+     * @return true if the test reaches the mutant without infecting it
+     */
+    protected boolean isNotInfected(ExecutionResult origResult, int mutationId) {
+        Double distance = origResult.getTrace().getMutationDistances().get(mutationId);
+        return distance != null && distance > 0.0;
+    }
+
     protected Criterion[] oldCriterion = Properties.CRITERION;
 
     /**
@@ -138,6 +138,8 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
             if (!mutants.containsKey(mutationId)) {
                 //logger.warn("Mutation ID unknown: " + mutationId);
                 //logger.warn(mutants.keySet().toString());
+            } else if (Properties.ASSERTION_SKIP_UNINFECTED_MUTANTS && isNotInfected(origResult, mutationId)) {
+                logger.debug("Skipping mutant {} as it is not infected", mutationId);
             } else
                 executedMutants.add(mutants.get(mutationId));
         }
@@ -159,19 +161,15 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
                 killed.add(m.getId());
                 continue;
             }
-            if (timedOutMutations.containsKey(m)) {
-                if (timedOutMutations.get(m) >= Properties.MUTATION_TIMEOUTS) {
-                    logger.debug("Skipping timed out mutant");
-                    killed.add(m.getId());
-                    continue;
-                }
+            if (timedOutMutations.getOrDefault(m, 0) >= Properties.MUTATION_TIMEOUTS) {
+                logger.debug("Skipping timed out mutant");
+                killed.add(m.getId());
+                continue;
             }
-            if (exceptionMutations.containsKey(m)) {
-                if (exceptionMutations.get(m) >= Properties.MUTATION_TIMEOUTS) {
-                    logger.debug("Skipping mutant with exceptions");
-                    killed.add(m.getId());
-                    continue;
-                }
+            if (exceptionMutations.getOrDefault(m, 0) >= Properties.MUTATION_TIMEOUTS) {
+                logger.debug("Skipping mutant with exceptions");
+                killed.add(m.getId());
+                continue;
             }
             if (Properties.MAX_MUTANTS_PER_TEST > 0
                     && numExecutedMutants > Properties.MAX_MUTANTS_PER_TEST)
@@ -202,21 +200,13 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
 
             if (mutantResult.hasTimeout()) {
                 logger.debug("Increasing timeout count!");
-                if (!timedOutMutations.containsKey(m)) {
-                    timedOutMutations.put(m, 1);
-                } else {
-                    timedOutMutations.put(m, timedOutMutations.get(m) + 1);
-                }
+                timedOutMutations.merge(m, 1, Integer::sum);
                 MutationTimeoutStoppingCondition.timeOut(m);
 
             } else if (!mutantResult.noThrownExceptions()
                     && origResult.noThrownExceptions()) {
                 logger.debug("Increasing exception count.");
-                if (!exceptionMutations.containsKey(m)) {
-                    exceptionMutations.put(m, 1);
-                } else {
-                    exceptionMutations.put(m, exceptionMutations.get(m) + 1);
-                }
+                exceptionMutations.merge(m, 1, Integer::sum);
                 MutationTimeoutStoppingCondition.raisedException(m);
             }
 
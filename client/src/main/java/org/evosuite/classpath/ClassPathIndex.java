@@ -0,0 +1,403 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.classpath;
+
+import org.evosuite.Properties;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk index of the classes contained in the jar files of the classpath.
+ * <p>
+ * For each jar, the index stores the name, access flags, superclass,
+ * interfaces and methods (with their access flags) of every class, in the
+ * order of the jar entries. Index files are named after the SHA-1 checksum of
+ * the jar content and are kept in {@link Properties#CLASSPATH_INDEX_DIR}, so
+ * that they are shared by subsequent runs and by all the clients of a CTG
+ * session. A jar is only parsed again with ASM when its content changed.
+ */
+public final class ClassPathIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassPathIndex.class);
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String INDEX_EXTENSION = ".idx";
+
+    private static final ClassPathIndex instance = new ClassPathIndex();
+
+    /**
+     * Key -> absolute path of a jar file
+     * <p>
+     * Value -> the index of that jar, as long as its size and modification time did not change
+     */
+    private final Map<String, JarIndex> jarIndexes = new HashMap<>();
+
+    private ClassPathIndex() {
+    }
+
+    public static ClassPathIndex getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return true if {@link Properties#CLASSPATH_INDEX_DIR} is set
+     */
+    public static boolean isEnabled() {
+        return Properties.CLASSPATH_INDEX_DIR != null && !Properties.CLASSPATH_INDEX_DIR.isEmpty();
+    }
+
+    public synchronized void reset() {
+        jarIndexes.clear();
+    }
+
+    /**
+     * Get the index of the given jar file, loading it from the index folder
+     * or building and storing it if no index exists for the current content
+     * of the jar.
+     *
+     * @param jarPath path of a jar file
+     * @return the index, or {@code null} if the index is disabled or the jar cannot be read
+     */
+    public synchronized JarIndex getJarIndex(String jarPath) {
+        if (!isEnabled()) {
+            return null;
+        }
+
+        File jar = new File(jarPath).getAbsoluteFile();
+        JarIndex index = jarIndexes.get(jar.getPath());
+        if (index != null && index.length == jar.length() && index.lastModified == jar.lastModified()) {
+            return index;
+        }
+
+        String checksum;
+        try {
+            checksum = computeChecksum(jar);
+        } catch (IOException e) {
+            logger.warn("Cannot compute checksum of jar file " + jar + ": " + e.getMessage());
+            return null;
+        }
+
+        File indexFile = new File(Properties.CLASSPATH_INDEX_DIR, checksum + INDEX_EXTENSION);
+        Map<String, ClassInfo> classes = null;
+        if (indexFile.exists()) {
+            try {
+                classes = readIndex(indexFile);
+                logger.debug("Loaded index of {} from {}", jar, indexFile);
+            } catch (IOException e) {
+                logger.warn("Could not read classpath index " + indexFile + ": " + e.getMessage());
+            }
+        }
+
+        if (classes == null) {
+            try {
+                classes = buildIndex(jar);
+            } catch (IOException e) {
+                logger.warn("Failed to open/analyze jar file " + jar + ": " + e.getMessage());
+                return null;
+            }
+            writeIndex(indexFile, classes);
+        }
+
+        index = new JarIndex(jar.length(), jar.lastModified(), classes);
+        jarIndexes.put(jar.getPath(), index);
+        return index;
+    }
+
+    private static String computeChecksum(File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (byte b : digest.digest()) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+
+    private static Map<String, ClassInfo> buildIndex(File jar) throws IOException {
+        Map<String, ClassInfo> classes = new LinkedHashMap<>();
+        try (JarFile zf = new JarFile(jar)) {
+            Enumeration<JarEntry> e = zf.entries();
+            while (e.hasMoreElements()) {
+                JarEntry ze = e.nextElement();
+                String entryName = ze.getName();
+                if (!entryName.endsWith(".class")) {
+                    continue;
+                }
+
+                String className = ResourceList.getClassNameFromResourcePath(entryName);
+                try (InputStream in = zf.getInputStream(ze)) {
+                    ClassReader reader = new ClassReader(in);
+                    ClassNode cn = new ClassNode();
+                    reader.accept(cn, ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG
+                            | ClassReader.SKIP_CODE);
+                    classes.put(className, ClassInfo.fromClassNode(cn));
+                } catch (IOException | RuntimeException ex) {
+                    /*
+                     * even if there is a problem with one of the entries, we can still
+                     * go on and look at the others. The class is still recorded, so that
+                     * it is on the classpath, but it has no structural information
+                     */
+                    logger.error("Error while analyzing class " + entryName + " in the jar " + jar
+                            + ": " + ex.getMessage());
+                    classes.put(className, null);
+                }
+            }
+        }
+        return classes;
+    }
+
+    private static Map<String, ClassInfo> readIndex(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file.toPath()))))) {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported index version " + version);
+            }
+
+            int numClasses = in.readInt();
+            Map<String, ClassInfo> classes = new LinkedHashMap<>();
+            for (int i = 0; i < numClasses; i++) {
+                String className = in.readUTF();
+                ClassInfo info = null;
+                if (in.readBoolean()) {
+                    String name = in.readUTF();
+                    int access = in.readInt();
+                    String superName = in.readBoolean() ? in.readUTF() : null;
+                    int numInterfaces = in.readInt();
+                    List<String> interfaces = new ArrayList<>(numInterfaces);
+                    for (int j = 0; j < numInterfaces; j++) {
+                        interfaces.add(in.readUTF());
+                    }
+                    int numMethods = in.readInt();
+                    List<MethodInfo> methods = new ArrayList<>(numMethods);
+                    for (int j = 0; j < numMethods; j++) {
+                        methods.add(new MethodInfo(in.readUTF(), in.readUTF(), in.readInt()));
+                    }
+                    info = new ClassInfo(name, access, superName, interfaces, methods);
+                }
+                classes.put(className, info);
+            }
+            return classes;
+        }
+    }
+
+    private static void writeIndex(File file, Map<String, ClassInfo> classes) {
+        File tmp = null;
+        try {
+            File dir = file.getParentFile();
+            if (dir != null && !dir.exists() && !dir.mkdirs()) {
+                throw new IOException("Cannot create directory " + dir);
+            }
+            tmp = File.createTempFile(file.getName(), ".tmp", dir);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(tmp.toPath()))))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(classes.size());
+                for (Map.Entry<String, ClassInfo> entry : classes.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    ClassInfo info = entry.getValue();
+                    out.writeBoolean(info != null);
+                    if (info == null) {
+                        continue;
+                    }
+                    out.writeUTF(info.getName());
+                    out.writeInt(info.getAccess());
+                    out.writeBoolean(info.getSuperName() != null);
+                    if (info.getSuperName() != null) {
+                        out.writeUTF(info.getSuperName());
+                    }
+                    out.writeInt(info.getInterfaces().size());
+                    for (String interfaceName : info.getInterfaces()) {
+                        out.writeUTF(interfaceName);
+                    }
+                    out.writeInt(info.getMethods().size());
+                    for (MethodInfo method : info.getMethods()) {
+                        out.writeUTF(method.getName());
+                        out.writeUTF(method.getDesc());
+                        out.writeInt(method.getAccess());
+                    }
+                }
+            }
+            // Clients of the same CTG session may build the same index concurrently
+            try {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            logger.debug("Saved index of {} classes to {}", classes.size(), file);
+        } catch (IOException e) {
+            logger.warn("Could not save classpath index to " + file + ": " + e.getMessage());
+            if (tmp != null) {
+                tmp.delete();
+            }
+        }
+    }
+
+    /**
+     * The classes of a single jar file
+     */
+    public static final class JarIndex {
+
+        private final long length;
+
+        private final long lastModified;
+
+        /**
+         * Key -> full qualifying name of a class, eg org.some.Foo, in jar entry order
+         * <p>
+         * Value -> its structure, or null if the class file could not be parsed
+         */
+        private final Map<String, ClassInfo> classes;
+
+        private JarIndex(long length, long lastModified, Map<String, ClassInfo> classes) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.classes = Collections.unmodifiableMap(classes);
+        }
+
+        /**
+         * @return the names (eg foo.Foo) of all the classes in the jar, in jar entry order
+         */
+        public Set<String> getClassNames() {
+            return classes.keySet();
+        }
+
+        /**
+         * @param className a full qualifying name, e.g. org.some.Foo
+         * @return the structure of the class, or {@code null} if it is not known
+         */
+        public ClassInfo getClassInfo(String className) {
+            return classes.get(className);
+        }
+    }
+
+    /**
+     * The parts of a class file needed to build the inheritance tree
+     */
+    public static final class ClassInfo {
+
+        private final String name;
+
+        private final int access;
+
+        private final String superName;
+
+        private final List<String> interfaces;
+
+        private final List<MethodInfo> methods;
+
+        public ClassInfo(String name, int access, String superName,
+                         List<String> interfaces, List<MethodInfo> methods) {
+            this.name = name;
+            this.access = access;
+            this.superName = superName;
+            this.interfaces = interfaces;
+            this.methods = methods;
+        }
+
+        public static ClassInfo fromClassNode(ClassNode cn) {
+            List<MethodInfo> methods = new ArrayList<>(cn.methods.size());
+            for (MethodNode mn : cn.methods) {
+                methods.add(new MethodInfo(mn.name, mn.desc, mn.access));
+            }
+            return new ClassInfo(cn.name, cn.access, cn.superName,
+                    new ArrayList<>(cn.interfaces), methods);
+        }
+
+        /**
+         * @return the internal name of the class, eg org/some/Foo
+         */
+        public String getName() {
+            return name;
+        }
+
+        public int getAccess() {
+            return access;
+        }
+
+        public String getSuperName() {
+            return superName;
+        }
+
+        public List<String> getInterfaces() {
+            return interfaces;
+        }
+
+        public List<MethodInfo> getMethods() {
+            return methods;
+        }
+    }
+
+    public static final class MethodInfo {
+
+        private final String name;
+
+        private final String desc;
+
+        private final int access;
+
+        public MethodInfo(String name, String desc, int access) {
+            this.name = name;
+            this.desc = desc;
+            this.access = access;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDesc() {
+            return desc;
+        }
+
+        public int getAccess() {
+            return access;
+        }
+    }
+}
@@ -561,19 +561,7 @@ public class ResourceList {
     }
 
     private void scanJar(String jarEntry) {
-        JarFile zf = getCache().getJar(jarEntry);
-
-        Enumeration<?> e = zf.entries();
-        while (e.hasMoreElements()) {
-            JarEntry ze = (JarEntry) e.nextElement();
-            String entryName = ze.getName();
-
-            if (!entryName.endsWith(".class")) {
-                continue;
-            }
-
-            String className = getClassNameFromResourcePath(entryName);
-
+        for (String className : getClassNamesInJar(jarEntry)) {
             // The same class may exist in different classpath entries
             // and only the first one is kept
             if (getCache().mapClassToCP.containsKey(className))
@@ -594,4 +582,31 @@ public class ResourceList {
         }
     }
 
+    /**
+     * Names of the classes in the jar, in entry order. The jar is only opened
+     * if it is not in the {@link ClassPathIndex}
+     */
+    private Collection<String> getClassNamesInJar(String jarEntry) {
+        ClassPathIndex.JarIndex index = ClassPathIndex.getInstance().getJarIndex(jarEntry);
+        if (index != null) {
+            return index.getClassNames();
+        }
+
+        List<String> classNames = new ArrayList<>();
+        JarFile zf = getCache().getJar(jarEntry);
+
+        Enumeration<?> e = zf.entries();
+        while (e.hasMoreElements()) {
+            JarEntry ze = (JarEntry) e.nextElement();
+            String entryName = ze.getName();
+
+            if (!entryName.endsWith(".class")) {
+                continue;
+            }
+
+            classNames.add(getClassNameFromResourcePath(entryName));
+        }
+        return classNames;
+    }
+
 }
\ No newline at end of file
@@ -24,7 +24,7 @@ import org.evosuite.coverage.TestCoverageGoal;
 import org.evosuite.graphs.cfg.BytecodeInstruction;
 import org.evosuite.graphs.cfg.ControlDependency;
 import org.evosuite.testcase.execution.ExecutionResult;
-import org.evosuite.testcase.execution.MethodCall;
+import org.evosuite.coverage.branch.ControlFlowDistanceTable.CallDistances;
 import org.evosuite.testcase.statements.ConstructorStatement;
 import org.evosuite.testcase.statements.Statement;
 import org.objectweb.asm.Type;
@@ -33,7 +33,6 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
 /**
@@ -73,10 +72,9 @@ public class ControlFlowDistanceCalculator {
 
     private static final Logger logger = LoggerFactory.getLogger(ControlFlowDistanceCalculator.class);
 
-    // DONE hold intermediately calculated ControlFlowDistances in
-    // ExecutionResult during computation in order to speed up things -
-    // experiment at least
-    // ... did that, but no real speed up observed
+    // The branch distances of each method call are read from the
+    // ControlFlowDistanceTable of the ExecutionResult, which is computed in a
+    // single pass over the trace and shared by all goals
 
     /**
      * Calculates the ControlFlowDistance indicating how far away the given
@@ -210,16 +208,13 @@ public class ControlFlowDistanceCalculator {
         r.setApproachLevel(branch.getInstruction().getActualCFG().getDiameter() + 1);
 
         // Minimal distance between target node and path
-        for (MethodCall call : result.getTrace().getMethodCalls()) {
-            if (call.className.equals(className) && call.methodName.equals(methodName)) {
-                ControlFlowDistance d2;
-                Set<Branch> handled = new HashSet<>();
-                //				result.intermediateDistances = new HashMap<Branch,ControlFlowDistance>();
-                d2 = getNonRootDistance(result, call, branch, value, className,
-                        methodName, handled);
-                if (d2.compareTo(r) < 0) {
-                    r = d2;
-                }
+        for (CallDistances call : result.getControlFlowDistanceTable().getCalls(className, methodName)) {
+            ControlFlowDistance d2;
+            Set<Branch> handled = new HashSet<>();
+            d2 = getNonRootDistance(result, call, branch, value, className,
+                    methodName, handled);
+            if (d2.compareTo(r) < 0) {
+                r = d2;
             }
         }
 
@@ -227,7 +222,7 @@ public class ControlFlowDistanceCalculator {
     }
 
     private static ControlFlowDistance getNonRootDistance(ExecutionResult result,
-                                                          MethodCall call, Branch branch, boolean value, String className,
+                                                          CallDistances call, Branch branch, boolean value, String className,
                                                           String methodName, Set<Branch> handled) {
 
         if (branch == null)
@@ -236,8 +231,6 @@ public class ControlFlowDistanceCalculator {
         if (call == null)
             throw new IllegalArgumentException("null given");
 
-        //		ControlFlowDistance r = result.intermediateDistances.get(branch);
-
         if (handled.contains(branch)) {
             //			if(r== null)
             return worstPossibleDistanceForMethod(branch);
@@ -247,9 +240,6 @@ public class ControlFlowDistanceCalculator {
         }
         handled.add(branch);
 
-        List<Double> trueDistances = call.trueDistanceTrace;
-        List<Double> falseDistances = call.falseDistanceTrace;
-
         // IDEA:
         // if this goal's branch is traced in the given path, return the
         // true_/false_distance, depending on this.value
@@ -257,25 +247,15 @@ public class ControlFlowDistanceCalculator {
         // and return 1 + minimum of the branch coverage goal distance over all
         // such branches taking as value the branchExpressionValue
 
-        Set<Integer> branchTracePositions = determineBranchTracePositions(call, branch);
-
-        if (!branchTracePositions.isEmpty()) {
+        if (call.isTraced(branch.getActualBranchId())) {
 
             // branch was traced in given path
-            ControlFlowDistance r = new ControlFlowDistance(0, Double.MAX_VALUE);
-
-            for (Integer branchTracePosition : branchTracePositions)
-                if (value)
-                    r.setBranchDistance(Math.min(r.getBranchDistance(),
-                            trueDistances.get(branchTracePosition)));
-                else
-                    r.setBranchDistance(Math.min(r.getBranchDistance(),
-                            falseDistances.get(branchTracePosition)));
+            ControlFlowDistance r = new ControlFlowDistance(0,
+                    call.getDistance(branch.getActualBranchId(), value));
 
             if (r.getBranchDistance() == Double.MAX_VALUE)
                 throw new IllegalStateException("should be impossible");
 
-            //			result.intermediateDistances.put(branch, r);
             return r;
         }
 
@@ -288,13 +268,11 @@ public class ControlFlowDistanceCalculator {
 
         controlDependenceDistance.increaseApproachLevel();
 
-        //		result.intermediateDistances.put(branch, controlDependenceDistance);
-
         return controlDependenceDistance;
     }
 
     private static ControlFlowDistance getControlDependenceDistancesFor(
-            ExecutionResult result, MethodCall call, BytecodeInstruction instruction,
+            ExecutionResult result, CallDistances call, BytecodeInstruction instruction,
             String className, String methodName, Set<Branch> handled) {
 
         Set<ControlFlowDistance> cdDistances = getDistancesForControlDependentBranchesOf(result,
@@ -317,7 +295,7 @@ public class ControlFlowDistanceCalculator {
      * @param handled
      */
     private static Set<ControlFlowDistance> getDistancesForControlDependentBranchesOf(
-            ExecutionResult result, MethodCall call, BytecodeInstruction instruction,
+            ExecutionResult result, CallDistances call, BytecodeInstruction instruction,
             String className, String methodName, Set<Branch> handled) {
 
         Set<ControlFlowDistance> r = new HashSet<>();
@@ -349,17 +327,4 @@ public class ControlFlowDistanceCalculator {
         return r;
     }
 
-    private static Set<Integer> determineBranchTracePositions(MethodCall call,
-                                                              Branch branch) {
-
-        Set<Integer> r = new HashSet<>();
-        List<Integer> path = call.branchTrace;
-        for (int pos = 0; pos < path.size(); pos++) {
-            if (path.get(pos) == branch.getActualBranchId()) { //.getActualBranchId()); {
-                r.add(pos);
-            }
-        }
-        return r;
-    }
-
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.branch;
+
+import org.evosuite.testcase.execution.MethodCall;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The minimal true and false distances of every branch in every method call
+ * of an execution trace. The table is built in a single pass over the branch
+ * traces of the calls, and then shared by all the goals evaluated on the
+ * same {@link org.evosuite.testcase.execution.ExecutionResult}, instead of
+ * scanning all the method calls and their branch traces again for each goal.
+ */
+public final class ControlFlowDistanceTable {
+
+    /**
+     * The method calls from which the table was built
+     */
+    private final List<MethodCall> calls;
+
+    private final int numCalls;
+
+    /**
+     * Key -> class name
+     * <p>
+     * Value -> the calls of each method of that class, in trace order
+     */
+    private final Map<String, Map<String, List<CallDistances>>> callsByMethod = new HashMap<>();
+
+    public ControlFlowDistanceTable(List<MethodCall> calls) {
+        this.calls = calls;
+        this.numCalls = calls.size();
+
+        for (MethodCall call : calls) {
+            callsByMethod.computeIfAbsent(call.className, c -> new HashMap<>())
+                    .computeIfAbsent(call.methodName, m -> new ArrayList<>())
+                    .add(new CallDistances(call));
+        }
+    }
+
+    /**
+     * @param calls the current method calls of a trace
+     * @return true if this table was built from the given calls, and no call has been added since
+     */
+    public boolean isUpToDate(List<MethodCall> calls) {
+        return this.calls == calls && this.numCalls == calls.size();
+    }
+
+    /**
+     * @param className  the class name
+     * @param methodName the method name, with descriptor
+     * @return the calls of the given method, in trace order
+     */
+    public List<CallDistances> getCalls(String className, String methodName) {
+        Map<String, List<CallDistances>> methods = callsByMethod.get(className);
+        if (methods == null) {
+            return Collections.emptyList();
+        }
+        return methods.getOrDefault(methodName, Collections.emptyList());
+    }
+
+    /**
+     * The minimal distances of the branches traced in a single method call
+     */
+    public static final class CallDistances {
+
+        /**
+         * Key -> branch id
+         * <p>
+         * Value -> the minimal true and false distance over all the evaluations of the branch
+         */
+        private final Map<Integer, double[]> distances = new HashMap<>();
+
+        private CallDistances(MethodCall call) {
+            List<Integer> path = call.branchTrace;
+            for (int pos = 0; pos < path.size(); pos++) {
+                double[] d = distances.computeIfAbsent(path.get(pos),
+                        b -> new double[]{Double.MAX_VALUE, Double.MAX_VALUE});
+                d[0] = Math.min(d[0], call.trueDistanceTrace.get(pos));
+                d[1] = Math.min(d[1], call.falseDistanceTrace.get(pos));
+            }
+        }
+
+        /**
+         * @param branchId the actual id of a branch
+         * @return true if the branch was evaluated in this call
+         */
+        public boolean isTraced(int branchId) {
+            return distances.containsKey(branchId);
+        }
+
+        /**
+         * @param branchId the actual id of a branch evaluated in this call
+         * @param value    the outcome of the branch
+         * @return the minimal distance to the given outcome over all the evaluations of the branch
+         */
+        public double getDistance(int branchId, boolean value) {
+            return distances.get(branchId)[value ? 0 : 1];
+        }
+    }
+}
@@ -128,7 +128,41 @@ public class StrongMutationSuiteFitness extends MutationSuiteFitness {
         Set<Integer> newKilled = new LinkedHashSet<>();
 
         List<TestChromosome> executionOrder = prioritizeTests(suite); // Quicker tests first
+
+        // Mutants that are killed according to the cached mutant executions of
+        // unchanged tests do not need to be executed against any other test
+        for (TestChromosome test : executionOrder) {
+            ExecutionResult result = test.getLastExecutionResult();
+            if (result.calledReflection())
+                continue;
+
+            for (final Entry<Integer, MutationTestFitness> entry : this.mutantMap.entrySet()) {
+                int mutantID = entry.getKey();
+                MutationTestFitness goal = entry.getValue();
+                if (newKilled.contains(mutantID)
+                        || test.getLastExecutionResult(goal.getMutation()) == null
+                        || MutationTimeoutStoppingCondition.isDisabled(goal.getMutation())) {
+                    continue;
+                }
+
+                // Mutants that survive are checked again by the loop below
+                if (goal.getFitness(test, result) == 0.0) {
+                    mutantsChecked++;
+                    numKilled++;
+                    newKilled.add(mutantID);
+                    minMutantFitness.put(goal.getMutation(), 0.0);
+                    result.test.addCoveredGoal(goal);
+                    this.toRemoveMutants.add(mutantID);
+                }
+            }
+        }
+
         for (TestChromosome test : executionOrder) {
+            if (newKilled.size() == this.mutantMap.size()) {
+                // Every mutant is killed, no need to execute any further test
+                break;
+            }
+
             ExecutionResult result = test.getLastExecutionResult();
             // Using private reflection can lead to false positives
             // that represent unrealistic behaviour. Thus, we only
@@ -181,6 +215,7 @@ public class StrongMutationSuiteFitness extends MutationSuiteFitness {
                 if (mutantInfectionDistance == 0.0) {
                     numKilled++;
                     newKilled.add(mutantID);
+                    minMutantFitness.put(goal.getMutation(), 0.0); // independent of which test killed it first
                     result.test.addCoveredGoal(goal); // update list of covered goals
                     this.toRemoveMutants.add(mutantID); // goal to not be considered by the next iteration of the evolutionary algorithm
                 } else {
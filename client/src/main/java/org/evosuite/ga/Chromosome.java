@@ -27,6 +27,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -149,8 +150,9 @@ public abstract class Chromosome<T extends Chromosome<T>>
      * @return the fitness of this chromosome
      */
     public double getFitness(FitnessFunction<T> ff) {
-        return fitnessValues.containsKey(ff)
-                ? fitnessValues.get(ff)
+        final Double value = fitnessValues.get(ff);
+        return value != null
+                ? value
                 : ff.getFitness(self()); // Calculate new value if non is cached
     }
 
@@ -158,6 +160,23 @@ public abstract class Chromosome<T extends Chromosome<T>>
         return this.fitnessValues;
     }
 
+    /**
+     * Returns the fitness of this chromosome for each of the given goals as a dense vector, i.e.,
+     * the i-th value is the fitness for the i-th goal. Ranking algorithms extract the vectors once
+     * and then compare the arrays, rather than looking up every goal for every pair of
+     * chromosomes.
+     *
+     * @param goals the goals, indexed by their position in the list
+     * @return the fitness vector
+     */
+    public double[] getFitnessValues(List<? extends FitnessFunction<T>> goals) {
+        final double[] values = new double[goals.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getFitness(goals.get(i));
+        }
+        return values;
+    }
+
     public Map<FitnessFunction<T>, Double> getPreviousFitnessValues() {
         return this.previousFitnessValues;
     }
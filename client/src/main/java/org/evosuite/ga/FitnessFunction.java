@@ -45,10 +45,13 @@ public abstract class FitnessFunction<T extends Chromosome<T>> implements Serial
      * @param fitness    a double.
      */
     protected void updateIndividual(T individual, double fitness) {
-        individual.setFitness(this, fitness);
-        // the following assumes updateIndividual is called from a 'getFitness' method,
-        // which seems to be case for all classes that extends 'FitnessFunction'
-        individual.increaseNumberOfEvaluations();
+        // several goals may be evaluated on the same individual in parallel
+        synchronized (individual) {
+            individual.setFitness(this, fitness);
+            // the following assumes updateIndividual is called from a 'getFitness' method,
+            // which seems to be case for all classes that extends 'FitnessFunction'
+            individual.increaseNumberOfEvaluations();
+        }
     }
 
     /**
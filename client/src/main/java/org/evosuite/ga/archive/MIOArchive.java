@@ -60,7 +60,7 @@ public class MIOArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public void addTarget(TestFitnessFunction target) {
+    public synchronized void addTarget(TestFitnessFunction target) {
         super.addTarget(target);
 
         if (!this.archive.containsKey(target)) {
@@ -75,7 +75,7 @@ public class MIOArchive extends Archive {
      * {@inheritDoc}
      */
     @Override
-    public void updateArchive(TestFitnessFunction target, TestChromosome solution, double fitnessValue) {
+    public synchronized void updateArchive(TestFitnessFunction target, TestChromosome solution, double fitnessValue) {
         super.updateArchive(target, solution, fitnessValue);
         assert this.archive.containsKey(target);
 
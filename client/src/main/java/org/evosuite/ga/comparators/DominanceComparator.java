@@ -110,4 +110,45 @@ public class DominanceComparator<T extends Chromosome<T>> implements Comparator<
             return 1; // c2 dominates
         }
     }
+
+    /**
+     * Compares two fitness vectors, as returned by
+     * {@link Chromosome#getFitnessValues(java.util.List)} for the same list of goals, in terms of
+     * dominance.
+     *
+     * @param fitness1 the fitness vector of the first chromosome
+     * @param fitness2 the fitness vector of the second chromosome
+     * @return -1 if fitness1 dominates fitness2, +1 if fitness2 dominates fitness1, 0 if both are
+     * non-dominated
+     */
+    public static int compare(double[] fitness1, double[] fitness2) {
+        boolean dominate1 = false;
+        boolean dominate2 = false;
+
+        for (int i = 0; i < fitness1.length; i++) {
+            int flag = Double.compare(fitness1[i], fitness2[i]);
+
+            if (flag < 0) {
+                dominate1 = true;
+
+                if (dominate2) {
+                    return 0;
+                }
+            } else if (flag > 0) {
+                dominate2 = true;
+
+                if (dominate1) {
+                    return 0;
+                }
+            }
+        }
+
+        if (dominate1 == dominate2) {
+            return 0; // no one dominate the other
+        } else if (dominate1) {
+            return -1; // c1 dominates
+        } else {
+            return 1; // c2 dominates
+        }
+    }
 }
@@ -81,9 +81,22 @@ public class PreferenceSortingComparator<T extends Chromosome<T>> implements Com
             return -1;
         }
 
-        double value1, value2;
-        value1 = solution1.getFitness(this.objective);
-        value2 = solution2.getFitness(this.objective);
+        return compare(solution1, solution1.getFitness(this.objective),
+                solution2, solution2.getFitness(this.objective));
+    }
+
+    /**
+     * Compare two chromosome objects given their fitness values for the goal of interest.
+     *
+     * @param solution1 a {@link org.evosuite.ga.Chromosome} object
+     * @param value1    the fitness value of solution1
+     * @param solution2 a {@link org.evosuite.ga.Chromosome} object
+     * @param value2    the fitness value of solution2
+     * @return -1 if value1 is lower than value2, +1 if it is higher, or the comparison of the
+     * secondary objectives if both values are equal
+     */
+    public static <T extends Chromosome<T>> int compare(T solution1, double value1,
+                                                        T solution2, double value2) {
         if (value1 < value2) {
             return -1;
         } else if (value1 > value2) {
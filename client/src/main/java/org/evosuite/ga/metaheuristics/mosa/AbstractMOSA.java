@@ -19,6 +19,7 @@
  */
 package org.evosuite.ga.metaheuristics.mosa;
 
+import org.evosuite.ClientProcess;
 import org.evosuite.Properties;
 import org.evosuite.Properties.SelectionFunction;
 import org.evosuite.coverage.FitnessFunctions;
@@ -29,6 +30,11 @@ import org.evosuite.ga.FitnessFunction;
 import org.evosuite.ga.archive.Archive;
 import org.evosuite.ga.comparators.DominanceComparator;
 import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
+import org.evosuite.ga.operators.selection.BestKSelection;
+import org.evosuite.ga.operators.selection.RandomKSelection;
+import org.evosuite.ga.operators.selection.RankSelection;
+import org.evosuite.rmi.ClientServices;
+import org.evosuite.rmi.service.ClientNodeLocal;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
@@ -39,12 +45,14 @@ import org.evosuite.testsuite.TestSuiteChromosome;
 import org.evosuite.testsuite.TestSuiteFitnessFunction;
 import org.evosuite.utils.ArrayUtil;
 import org.evosuite.utils.BudgetConsumptionMonitor;
+import org.evosuite.utils.Listener;
 import org.evosuite.utils.LoggingUtils;
 import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Abstract class for MOSA or variants of MOSA.
@@ -73,6 +81,16 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
      */
     protected final BudgetConsumptionMonitor budgetMonitor;
 
+    /**
+     * immigrant groups from neighbouring client
+     */
+    private final ConcurrentLinkedQueue<List<TestChromosome>> immigrants =
+            new ConcurrentLinkedQueue<>();
+
+    private final org.evosuite.ga.operators.selection.SelectionFunction<TestChromosome> emigrantsSelection;
+
+    private transient Listener<Set<TestChromosome>> immigrantsListener = null;
+
     /**
      * Constructor.
      *
@@ -90,6 +108,17 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
 
         this.budgetMonitor = new BudgetConsumptionMonitor();
 
+        switch (Properties.EMIGRANT_SELECTION_FUNCTION) {
+            case RANK:
+                this.emigrantsSelection = new RankSelection<>();
+                break;
+            case RANDOMK:
+                this.emigrantsSelection = new RandomKSelection<>();
+                break;
+            default:
+                this.emigrantsSelection = new BestKSelection<>();
+        }
+
         // set the secondary objectives of test cases (useful when MOSA compares two test
         // cases to, for example, update the archive)
         TestCaseSecondaryObjective.setSecondaryObjectives();
@@ -360,6 +389,98 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
         this.notifyIteration();
     }
 
+    /**
+     * For parallel runs, starts listening for the immigrants sent by the neighbouring client.
+     */
+    protected void startMigration() {
+        if (Properties.NUM_PARALLEL_CLIENTS > 1) {
+            this.immigrantsListener = this::receiveImmigrants;
+            ClientServices.<TestChromosome>getInstance().getClientNode().addListener(this.immigrantsListener);
+        }
+    }
+
+    /**
+     * For parallel runs, stops listening for immigrants, and gathers the solutions of all clients
+     * in the default client (see {@link #collectParallelSolutions()}).
+     */
+    protected void stopMigration() {
+        if (Properties.NUM_PARALLEL_CLIENTS > 1) {
+            ClientServices.<TestChromosome>getInstance().getClientNode().deleteListener(this.immigrantsListener);
+            this.immigrantsListener = null;
+            this.collectParallelSolutions();
+        }
+    }
+
+    void receiveImmigrants(Set<TestChromosome> group) {
+        this.immigrants.add(new LinkedList<>(group));
+    }
+
+    /**
+     * Returns the oldest group of immigrants that has not been integrated yet.
+     *
+     * @return the immigrants, or an empty list if there are none
+     */
+    protected List<TestChromosome> pollImmigrants() {
+        if (Properties.NUM_PARALLEL_CLIENTS > 1) {
+            List<TestChromosome> group = this.immigrants.poll();
+            if (group != null) {
+                return group;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * For parallel runs, sends the best k individuals of the population to the neighbouring
+     * client every {@link Properties#MIGRANTS_ITERATION_FREQUENCY} iterations.
+     */
+    protected void emigrate() {
+        if (Properties.NUM_PARALLEL_CLIENTS > 1 && Properties.MIGRANTS_ITERATION_FREQUENCY > 0) {
+            if ((currentIteration + 1) % Properties.MIGRANTS_ITERATION_FREQUENCY == 0 && !this.population.isEmpty()) {
+                HashSet<TestChromosome> emigrants = new HashSet<>(emigrantsSelection.select(this.population,
+                        Properties.MIGRANTS_COMMUNICATION_RATE));
+                ClientServices.<TestChromosome>getInstance().getClientNode().emigrate(emigrants);
+            }
+        }
+    }
+
+    /**
+     * For parallel runs, the default client gathers the final archives of all other clients and
+     * merges them into its own archive, whereas all other clients send their solutions to it.
+     */
+    private void collectParallelSolutions() {
+        final ClientNodeLocal<TestChromosome> clientNode =
+                ClientServices.<TestChromosome>getInstance().getClientNode();
+
+        if (ClientProcess.DEFAULT_CLIENT_NAME.equals(ClientProcess.getIdentifier())) {
+            //collect all end result test cases
+            Set<Set<TestChromosome>> collectedSolutions = clientNode.getBestSolutions();
+
+            logger.debug(ClientProcess.DEFAULT_CLIENT_NAME + ": Received " + collectedSolutions.size() + " solution sets");
+            for (Set<TestChromosome> solution : collectedSolutions) {
+                for (TestChromosome t : solution) {
+                    this.calculateCollectedFitness(t);
+                }
+            }
+        } else {
+            //send end result test cases to Client-0
+            Set<TestChromosome> solutionsSet = new HashSet<>(getSolutions());
+            logger.debug(ClientProcess.getPrettyPrintIdentifier() + "Sending " + solutionsSet.size()
+                    + " solutions to " + ClientProcess.DEFAULT_CLIENT_NAME);
+            clientNode.sendBestSolution(solutionsSet);
+        }
+    }
+
+    /**
+     * Evaluates a solution received from another client at the end of the search, so that it is
+     * considered by the archive.
+     *
+     * @param c the received solution
+     */
+    protected void calculateCollectedFitness(TestChromosome c) {
+        this.calculateFitness(c);
+    }
+
     /**
      * Returns the goals that have been covered by the test cases stored in the archive.
      *
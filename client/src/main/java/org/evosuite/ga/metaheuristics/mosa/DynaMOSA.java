@@ -76,6 +76,14 @@ public class DynaMOSA extends AbstractMOSA {
         union.addAll(this.population);
         union.addAll(offspringPopulation);
 
+        // for parallel runs: integrate possible immigrants. Their fitness values were computed
+        // against the goal objects of another client, so they are re-evaluated here, which also
+        // lets them contribute to the local archive and the set of current goals.
+        for (TestChromosome immigrant : this.pollImmigrants()) {
+            this.calculateFitness(immigrant);
+            union.add(immigrant);
+        }
+
         // Ranking the union
         logger.debug("Union Size = {}", union.size());
 
@@ -126,6 +134,9 @@ public class DynaMOSA extends AbstractMOSA {
             }
         }
 
+        // for parallel runs: collect best k individuals for migration
+        this.emigrate();
+
         this.currentIteration++;
         //logger.debug("N. fronts = {}", ranking.getNumberOfSubfronts());
         //logger.debug("1* front size = {}", ranking.getSubfront(0).size());
@@ -167,6 +178,8 @@ public class DynaMOSA extends AbstractMOSA {
             this.distance.fastEpsilonDominanceAssignment(this.rankingFunction.getSubfront(i), this.goalsManager.getCurrentGoals());
         }
 
+        this.startMigration();
+
         // Evolve the population generation by generation until all gaols have been covered or the
         // search budget has been consumed.
         while (!isFinished() && this.goalsManager.getUncoveredGoals().size() > 0) {
@@ -174,9 +187,22 @@ public class DynaMOSA extends AbstractMOSA {
             this.notifyIteration();
         }
 
+        this.stopMigration();
+
         this.notifySearchFinished();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The goals manager is used directly, since the search budget is already consumed at this
+     * point.
+     */
+    @Override
+    protected void calculateCollectedFitness(TestChromosome c) {
+        this.goalsManager.calculateFitness(c, this);
+    }
+
     /**
      * Calculates the fitness for the given individual. Also updates the list of targets to cover,
      * as well as the population of best solutions in the archive.
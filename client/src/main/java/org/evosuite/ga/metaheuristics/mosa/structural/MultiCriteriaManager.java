@@ -59,6 +59,10 @@ import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * A class for managing multiple coverage targets simultaneously.
@@ -91,6 +95,11 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
      */
     private final Map<String, TestFitnessFunction> branchlessMethodCoverageMap = new LinkedHashMap<>();
 
+    /**
+     * Pool of the threads evaluating the targets in parallel, shared by all instances
+     */
+    private static ForkJoinPool goalEvaluationPool = null;
+
     /**
      * Creates a new {@code MultiCriteriaManager} with the given list of targets. The targets are
      * encoded as fitness functions, which are expected to be minimization functions.
@@ -401,45 +410,47 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
          * reached, we also enqueue its structural and control-dependent children. This is to
          * determine which of those children are already reached by control flow. Only the missed
          * children will be part of the currentGoals for the next generation (together with the
-         * missed goals of the currentGoals of the current generation).
+         * missed goals of the currentGoals of the current generation). The targets are processed
+         * level by level, so that all the targets of a level can be evaluated at once.
          */
-        LinkedList<TestFitnessFunction> targets = new LinkedList<>(this.currentGoals);
+        List<TestFitnessFunction> targets = new ArrayList<>(this.currentGoals);
 
         // 1) We update the set of current goals.
         while (targets.size() > 0 && !ga.isFinished()) {
+            List<TestFitnessFunction> level = new ArrayList<>(targets.size());
+            for (TestFitnessFunction target : targets) {
+                if (visitedTargets.add(target)) {
+                    level.add(target);
+                }
+            }
+            targets = new ArrayList<>();
+
             // We evaluate the given test case against all current targets.
             // (There might have been serendipitous coverage of other targets, though.)
-            TestFitnessFunction target = targets.poll();
-
-            int pastSize = visitedTargets.size();
-            visitedTargets.add(target);
-            if (pastSize == visitedTargets.size())
-                continue;
+            double[] fitness = evaluateTargets(level, c, ga);
 
-            double fitness = target.getFitness(c);
-
-            /*
-             * Checks if the current test target has been reached and, in accordance, marks it as
-             * covered or uncovered.
-             */
-            if (fitness == 0.0) { // assume minimization function
-                updateCoveredGoals(target, c); // marks the current goal as covered
+            for (int i = 0; i < level.size() && !Double.isNaN(fitness[i]); i++) {
+                TestFitnessFunction target = level.get(i);
 
                 /*
-                 * If the coverage criterion is branch coverage, we also add structural children
-                 * and control dependencies of the current target to the processing queue. This is
-                 * to see which ones of those goals are already reached by control flow.
+                 * Checks if the current test target has been reached and, in accordance, marks it as
+                 * covered or uncovered.
                  */
-                if (target instanceof BranchCoverageTestFitness) {
-                    for (TestFitnessFunction child : graph.getStructuralChildren(target)) {
-                        targets.addLast(child);
-                    }
-                    for (TestFitnessFunction dependentTarget : dependencies.get(target)) {
-                        targets.addLast(dependentTarget);
+                if (fitness[i] == 0.0) { // assume minimization function
+                    updateCoveredGoals(target, c); // marks the current goal as covered
+
+                    /*
+                     * If the coverage criterion is branch coverage, we also add structural children
+                     * and control dependencies of the current target to the processing queue. This is
+                     * to see which ones of those goals are already reached by control flow.
+                     */
+                    if (target instanceof BranchCoverageTestFitness) {
+                        targets.addAll(graph.getStructuralChildren(target));
+                        targets.addAll(dependencies.get(target));
                     }
+                } else {
+                    currentGoals.add(target); // marks the goal as uncovered
                 }
-            } else {
-                currentGoals.add(target); // marks the goal as uncovered
             }
         }
 
@@ -485,6 +496,78 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
         }
     }
 
+    /**
+     * Computes the fitness of the test for the given targets. If {@link Properties#GOAL_EVALUATION_THREADS}
+     * is greater than one, the targets are partitioned among the threads of a fork/join pool. This is
+     * only done if no criterion needs to execute the test again to compute the fitness (strong
+     * mutation) and if the archive does not modify the test when it is updated (MIO).
+     *
+     * @param targets the targets to evaluate
+     * @param c       the test, which has already been executed
+     * @param ga      the search, to stop the sequential evaluation when it is finished
+     * @return the fitness for each target; {@code NaN} for the targets that have not been
+     * evaluated because the search is finished
+     */
+    private double[] evaluateTargets(List<TestFitnessFunction> targets, TestChromosome c,
+                                     GeneticAlgorithm<TestChromosome> ga) {
+        double[] fitness = new double[targets.size()];
+
+        ForkJoinPool pool = getGoalEvaluationPool();
+        if (pool == null || targets.size() < 2) {
+            Arrays.fill(fitness, Double.NaN);
+            for (int i = 0; i < targets.size(); i++) {
+                if (i > 0 && ga.isFinished()) {
+                    break;
+                }
+                fitness[i] = targets.get(i).getFitness(c);
+            }
+            return fitness;
+        }
+
+        int numTasks = Math.min(pool.getParallelism(), targets.size());
+        List<Callable<Void>> tasks = new ArrayList<>(numTasks);
+        for (int task = 0; task < numTasks; task++) {
+            int from = task * targets.size() / numTasks;
+            int to = (task + 1) * targets.size() / numTasks;
+            tasks.add(() -> {
+                for (int i = from; i < to; i++) {
+                    fitness[i] = targets.get(i).getFitness(c);
+                }
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Arrays.fill(fitness, Double.NaN);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+        return fitness;
+    }
+
+    private static synchronized ForkJoinPool getGoalEvaluationPool() {
+        if (Properties.GOAL_EVALUATION_THREADS <= 1
+                || ArrayUtil.contains(Properties.CRITERION, Criterion.STRONGMUTATION)
+                || Properties.ARCHIVE_TYPE == Properties.ArchiveType.MIO) {
+            return null;
+        }
+        if (goalEvaluationPool == null || goalEvaluationPool.getParallelism() != Properties.GOAL_EVALUATION_THREADS) {
+            if (goalEvaluationPool != null) {
+                goalEvaluationPool.shutdown();
+            }
+            goalEvaluationPool = new ForkJoinPool(Properties.GOAL_EVALUATION_THREADS);
+        }
+        return goalEvaluationPool;
+    }
+
     /**
      * This method analyzes the execution results of a TestChromosome looking for generated exceptions.
      * Such exceptions are converted in instances of the class {@link ExceptionCoverageTestFitness},
@@ -82,7 +82,13 @@ public class FastNonDominatedSorting<T extends Chromosome<T>> implements Ranking
     @SuppressWarnings("unchecked")
     private List<T>[] getNextNonDominatedFronts(List<T> solutionSet,
                                                 Set<? extends FitnessFunction<T>> uncovered_goals) {
-        DominanceComparator<T> criterion_ = new DominanceComparator<>(uncovered_goals);
+        // fitness[i] contains the fitness values of solution i for the uncovered goals, in the
+        // same order for all solutions, so that dominance is computed by scanning two arrays
+        List<FitnessFunction<T>> goals = new ArrayList<>(uncovered_goals);
+        double[][] fitness = new double[solutionSet.size()][];
+        for (int p = 0; p < solutionSet.size(); p++) {
+            fitness[p] = solutionSet.get(p).getFitnessValues(goals);
+        }
 
         // dominateMe[i] contains the number of solutions dominating i
         int[] dominateMe = new int[solutionSet.size()];
@@ -116,7 +122,7 @@ public class FastNonDominatedSorting<T extends Chromosome<T>> implements Ranking
         for (int p = 0; p < (solutionSet.size() - 1); p++) {
             // For all q individuals , calculate if p dominates q or vice versa
             for (int q = p + 1; q < solutionSet.size(); q++) {
-                flagDominate = criterion_.compare(solutionSet.get(p), solutionSet.get(q));
+                flagDominate = DominanceComparator.compare(fitness[p], fitness[q]);
 
                 if (flagDominate == -1) {
                     iDominate[p].add(q);
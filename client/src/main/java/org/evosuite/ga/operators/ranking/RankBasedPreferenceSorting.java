@@ -45,8 +45,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -66,6 +70,19 @@ public class RankBasedPreferenceSorting<T extends Chromosome<T>> implements Rank
      */
     private List<List<T>> fronts = null;
 
+    /**
+     * The best solution for each goal found by the last ranking. Goals that are no longer
+     * passed for ranking, e.g. because they have been covered, are dropped.
+     */
+    private final Map<FitnessFunction<T>, T> bestPerGoal = new LinkedHashMap<>();
+
+    /**
+     * The solutions ranked last time. The fitness values of a solution do not change once it has
+     * been evaluated, so a best solution that is still in the population only has to be compared
+     * with the solutions that were not ranked before, i.e. with the offspring.
+     */
+    private Set<T> previousSolutions = Collections.newSetFromMap(new IdentityHashMap<>());
+
     /**
      * {@inheritDoc}
      */
@@ -87,13 +104,20 @@ public class RankBasedPreferenceSorting<T extends Chromosome<T>> implements Rank
 
         if (zero_front.size() < Properties.POPULATION) {
             int rankedSolutions = zero_front.size();
-            DominanceComparator<T> comparator = new DominanceComparator<>(uncovered_goals);
 
             List<T> remaining = new ArrayList<>(solutions.size());
             remaining.addAll(solutions);
             remaining.removeAll(zero_front);
+
+            // the fitness values of each remaining solution for the uncovered goals, in the same
+            // order for all solutions, so that the goals are looked up only once per solution
+            List<FitnessFunction<T>> goals = new ArrayList<>(uncovered_goals);
+            Map<T, double[]> fitness = new IdentityHashMap<>(remaining.size());
+            for (T solution : remaining) {
+                fitness.put(solution, solution.getFitnessValues(goals));
+            }
             while (rankedSolutions < Properties.POPULATION && remaining.size() > 0) {
-                List<T> new_front = this.getNonDominatedSolutions(remaining, comparator, frontIndex);
+                List<T> new_front = this.getNonDominatedSolutions(remaining, fitness, frontIndex);
                 this.fronts.add(new_front);
                 remaining.removeAll(new_front);
                 rankedSolutions += new_front.size();
@@ -114,39 +138,66 @@ public class RankBasedPreferenceSorting<T extends Chromosome<T>> implements Rank
 
     /**
      * Returns the first (i.e. non-dominated) sub-front.
+     * <p>
+     * The best solution for a goal is updated incrementally: if the best solution of the
+     * previous ranking is still among the solutions, it is only compared with the solutions that
+     * were not ranked before. All solutions are compared only for new goals, or if the previous
+     * best solution is gone.
      *
      * @param solutionSet     the solutions to rank
      * @param uncovered_goals the goals used for ranking
      * @return the non-dominated solutions (first sub-front)
      */
     private List<T> getZeroFront(List<T> solutionSet, Set<? extends FitnessFunction<T>> uncovered_goals) {
+        Set<T> solutions = Collections.newSetFromMap(new IdentityHashMap<>(solutionSet.size()));
+        solutions.addAll(solutionSet);
+        List<T> newSolutions = new ArrayList<>(solutionSet.size());
+        for (T test : solutionSet) {
+            if (!this.previousSolutions.contains(test)) {
+                newSolutions.add(test);
+            }
+        }
+        this.bestPerGoal.keySet().retainAll(uncovered_goals);
+
         Set<T> zero_front = new LinkedHashSet<>(solutionSet.size());
         for (FitnessFunction<T> f : uncovered_goals) {
-            // for each uncovered goal, peak up the best tests using the proper comparator
-            PreferenceSortingComparator<T> comp = new PreferenceSortingComparator<>(f);
+            // for each uncovered goal, peak up the best tests using the preference criterion
+            T best = this.bestPerGoal.get(f);
+            List<T> candidates = newSolutions;
+            if (best == null || !solutions.contains(best)) {
+                best = null;
+                candidates = solutionSet;
+            }
 
-            T best = null;
-            for (T test : solutionSet) {
-                int flag = comp.compare(test, best);
+            double bestValue = best == null ? 0.0 : best.getFitness(f);
+            for (T test : candidates) {
+                double value = test.getFitness(f);
+                int flag = best == null ? -1
+                        : PreferenceSortingComparator.compare(test, value, best, bestValue);
                 if (flag < 0 || (flag == 0 && Randomness.nextBoolean())) {
                     best = test;
+                    bestValue = value;
                 }
             }
             assert best != null;
 
+            this.bestPerGoal.put(f, best);
             best.setRank(0);
             zero_front.add(best);
         }
+
+        this.previousSolutions = solutions;
         return new ArrayList<>(zero_front);
     }
 
-    private List<T> getNonDominatedSolutions(List<T> solutions, DominanceComparator<T> comparator, int frontIndex) {
+    private List<T> getNonDominatedSolutions(List<T> solutions, Map<T, double[]> fitness, int frontIndex) {
         List<T> front = new ArrayList<>(solutions.size());
         for (T p : solutions) {
             boolean isDominated = false;
             List<T> dominatedSolutions = new ArrayList<>(solutions.size());
+            double[] fitnessP = fitness.get(p);
             for (T best : front) {
-                int flag = comparator.compare(p, best);
+                int flag = DominanceComparator.compare(fitnessP, fitness.get(best));
                 if (flag < 0) {
                     dominatedSolutions.add(best);
                 }
@@ -32,7 +32,8 @@ import static org.objectweb.asm.Opcodes.INVOKESTATIC;
 /**
  * This visitor inserts a callback to at the exit of each <clinit>() method
  * (i.e. after class initialization has ended). If the class has no static
- * fields, no callback is inserted.
+ * fields, no callback is inserted. A callback at the entry of <clinit>() keeps
+ * track of the static initializer depth.
  *
  * @author galeotti
  */
@@ -86,6 +87,10 @@ public class EndOfClassInitializerVisitor extends ClassVisitor {
         public void visitCode() {
             super.visitCode();
             if (methodName.equals("<clinit>")) {
+                // keep track of the static initializer depth, which is
+                // decreased again in exitClassInit
+                String executionTracerClassName = ExecutionTracer.class.getName().replace('.', '/');
+                super.visitMethodInsn(INVOKESTATIC, executionTracerClassName, ENTERED_CLASS_INIT, "()V", false);
 
                 startingTryLabel = new Label();
                 endingTryLabel = new Label();
@@ -175,6 +180,8 @@ public class EndOfClassInitializerVisitor extends ClassVisitor {
     private boolean clinitFound = false;
     private boolean hasStaticFields = false;
 
+    private static final String ENTERED_CLASS_INIT = "enteredClassInit";
+
     private static final String EXIT_CLASS_INIT = "exitClassInit";
 
     @Override
@@ -214,6 +221,8 @@ public class EndOfClassInitializerVisitor extends ClassVisitor {
         String executionTracerClassName = ExecutionTracer.class.getName().replace('.', '/');
         String executionTracerDescriptor = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(String.class));
 
+        mv.visitMethodInsn(INVOKESTATIC, executionTracerClassName, ENTERED_CLASS_INIT, "()V", false);
+
         String classNameWithDots = className.replace('/', '.');
         mv.visitLdcInsn(classNameWithDots);
         mv.visitMethodInsn(INVOKESTATIC, executionTracerClassName, EXIT_CLASS_INIT, executionTracerDescriptor, false);
@@ -39,6 +39,7 @@ import static org.objectweb.asm.Opcodes.INVOKESTATIC;
  */
 public class ExitClassInitMethodAdapter extends MethodVisitor {
 
+    private static final String ENTERED_CLASS_INIT = "enteredClassInit";
     private static final String EXIT_CLASS_INIT = "exitClassInit";
     private final String className;
     private final String methodName;
@@ -81,6 +82,10 @@ public class ExitClassInitMethodAdapter extends MethodVisitor {
     public void visitCode() {
         super.visitCode();
         if (methodName.equals("<clinit>")) {
+            String executionTracerClassName = ExecutionTracer.class.getName()
+                    .replace('.', '/');
+            super.visitMethodInsn(INVOKESTATIC, executionTracerClassName,
+                    ENTERED_CLASS_INIT, "()V", false);
 
             startingTryLabel = new Label();
             endingTryLabel = new Label();
@@ -27,6 +27,7 @@ import org.objectweb.asm.ClassReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -102,6 +103,27 @@ public class InstrumentingClassLoader extends ClassLoader {
         }
     }
 
+    public Class<?> loadClassFromBytes(String fullyQualifiedTargetClass, byte[] bytes) throws ClassNotFoundException {
+
+        String className = fullyQualifiedTargetClass.replace('.', '/');
+
+        try (InputStream is = new ByteArrayInputStream(bytes)) {
+
+            byte[] byteBuffer = getTransformedBytes(className, is);
+
+            createPackageDefinition(fullyQualifiedTargetClass);
+            Class<?> result = defineClass(fullyQualifiedTargetClass, byteBuffer, 0, byteBuffer.length);
+
+            classes.put(fullyQualifiedTargetClass, result);
+
+            logger.info("Loaded class " + fullyQualifiedTargetClass + " directly from memory");
+            return result;
+        } catch (Throwable t) {
+            logger.info("Error while loading class " + fullyQualifiedTargetClass + " : " + t);
+            throw new ClassNotFoundException(t.getMessage(), t);
+        }
+    }
+
     @Override
     public Class<?> loadClass(String name) throws ClassNotFoundException {
         synchronized (getClassLoadingLock(name)) {
@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import javax.tools.*;
+import javax.tools.JavaCompiler.CompilationTask;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Compiles a batch of Java sources with the system compiler, keeping both the
+ * sources and the generated bytecode in memory.
+ * Compilation errors are reported per source, so that a caller can tell which
+ * of the compiled classes are broken.
+ */
+class InMemoryJavaCompiler {
+
+    private final JavaCompiler compiler;
+
+    private final List<String> options;
+
+    /**
+     * @param compiler  the system Java compiler
+     * @param classpath classpath used to resolve the dependencies of the sources
+     */
+    InMemoryJavaCompiler(JavaCompiler compiler, String classpath) {
+        this.compiler = compiler;
+        /*
+         * javac stops reporting after 100 errors by default, and by default it
+         * also skips flow analysis (e.g., unreported checked exceptions) once
+         * it found errors. A source without reported errors would then be
+         * wrongly considered as compilable. The hidden option to keep going
+         * is named differently in JDK 8 and in later versions; javac ignores
+         * the one it does not know.
+         */
+        this.options = Arrays.asList("-classpath", classpath,
+                "-Xmaxerrs", String.valueOf(Integer.MAX_VALUE),
+                "-XDshouldStopPolicyIfError=FLOW",
+                "-XDshould-stop.ifError=FLOW");
+    }
+
+    /**
+     * Compile all the given sources in a single compilation task
+     *
+     * @param sources map from fully qualified class name to source code
+     * @return the outcome of the compilation
+     * @throws IOException if the file manager cannot be closed
+     */
+    Result compile(Map<String, String> sources) throws IOException {
+
+        List<SourceFile> units = new ArrayList<>();
+        for (Map.Entry<String, String> entry : sources.entrySet()) {
+            units.add(new SourceFile(entry.getKey(), entry.getValue()));
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager standardManager = compiler.getStandardFileManager(diagnostics,
+                Locale.getDefault(), StandardCharsets.UTF_8);
+        ClassFileManager fileManager = new ClassFileManager(standardManager);
+
+        boolean compiled;
+        try {
+            CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, units);
+            compiled = task.call();
+        } finally {
+            fileManager.close();
+        }
+
+        Result result = new Result(compiled, fileManager.getClassBytes());
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() != Diagnostic.Kind.ERROR) {
+                continue;
+            }
+            JavaFileObject source = diagnostic.getSource();
+            if (source instanceof SourceFile) {
+                String className = ((SourceFile) source).className;
+                result.errors.computeIfAbsent(className, k -> new ArrayList<>()).add(diagnostic);
+            } else {
+                result.unattributedErrors.add(diagnostic);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Outcome of a batch compilation
+     */
+    static class Result {
+
+        private final boolean success;
+
+        private final Map<String, byte[]> classes;
+
+        private final Map<String, List<Diagnostic<? extends JavaFileObject>>> errors = new LinkedHashMap<>();
+
+        private final List<Diagnostic<? extends JavaFileObject>> unattributedErrors = new ArrayList<>();
+
+        private Result(boolean success, Map<String, byte[]> classes) {
+            this.success = success;
+            this.classes = classes;
+        }
+
+        boolean isSuccessful() {
+            return success;
+        }
+
+        /**
+         * @return bytecode of all the generated classes (including inner and
+         * anonymous ones), indexed by binary name
+         */
+        Map<String, byte[]> getClasses() {
+            return classes;
+        }
+
+        /**
+         * @return compilation errors, indexed by the name of the source they belong to
+         */
+        Map<String, List<Diagnostic<? extends JavaFileObject>>> getErrors() {
+            return errors;
+        }
+
+        /**
+         * @return compilation errors that cannot be mapped to any of the sources
+         */
+        List<Diagnostic<? extends JavaFileObject>> getUnattributedErrors() {
+            return unattributedErrors;
+        }
+    }
+
+    private static class SourceFile extends SimpleJavaFileObject {
+
+        private final String className;
+
+        private final String code;
+
+        SourceFile(String className, String code) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.className = className;
+            this.code = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+    }
+
+    private static class ClassFile extends SimpleJavaFileObject {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        ClassFile(String className) {
+            super(URI.create("bytes:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return bytes;
+        }
+    }
+
+    private static class ClassFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+        private final Map<String, ClassFile> outputs = new LinkedHashMap<>();
+
+        ClassFileManager(StandardJavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className,
+                                                   JavaFileObject.Kind kind, FileObject sibling) throws IOException {
+            if (kind != JavaFileObject.Kind.CLASS) {
+                return super.getJavaFileForOutput(location, className, kind, sibling);
+            }
+            ClassFile file = new ClassFile(className);
+            outputs.put(className, file);
+            return file;
+        }
+
+        Map<String, byte[]> getClassBytes() {
+            Map<String, byte[]> classes = new LinkedHashMap<>();
+            for (Map.Entry<String, ClassFile> entry : outputs.entrySet()) {
+                classes.put(entry.getKey(), entry.getValue().bytes.toByteArray());
+            }
+            return classes;
+        }
+    }
+}
@@ -43,11 +43,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.tools.*;
-import javax.tools.JavaCompiler.CompilationTask;
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -66,9 +63,6 @@ public abstract class JUnitAnalyzer {
 
     private static int dirCounter = 0;
 
-    private static final String JAVA = ".java";
-    private static final String CLASS = ".class";
-
     private static NonInstrumentingClassLoader loader = new NonInstrumentingClassLoader();
 
     private static final VersionDependentAnalyzing versionDependentAnalyzer;
@@ -79,8 +73,12 @@ public abstract class JUnitAnalyzer {
     }
 
     /**
-     * Try to compile each test separately, and remove the ones that cannot be
-     * compiled
+     * Compile all the tests in a single batch, and remove the ones that cannot be
+     * compiled.
+     *
+     * <p>
+     * Each test is written in its own test class, so that compilation errors
+     * can be mapped back to the test they belong to.
      *
      * @param tests
      */
@@ -92,44 +90,100 @@ public abstract class JUnitAnalyzer {
             return;
         }
 
-        Iterator<TestCase> iter = tests.iterator();
+        InMemoryJavaCompiler compiler = getCompiler();
+        if (compiler == null) {
+            logger.error("No Java compiler is available");
+            return;
+        }
 
-        while (iter.hasNext()) {
+        /*
+         * generating the source code implies executing the test, so we
+         * only check as many tests as we have time for
+         */
+        Map<TestCase, Map<String, String>> sourcesOfTest = new LinkedHashMap<>();
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (TestCase test : tests) {
             if (!TimeController.getInstance().hasTimeToExecuteATestCase()) {
                 break;
             }
+            Map<String, String> testSources = getTestSources(Collections.singletonList(test));
+            sourcesOfTest.put(test, testSources);
+            sources.putAll(testSources);
+        }
 
-            TestCase test = iter.next();
+        /*
+         * javac does not run its later phases (e.g., flow analysis) on the
+         * remaining classes once it found errors, so the tests that are kept
+         * are compiled again until the batch compiles
+         */
+        while (true) {
+            InMemoryJavaCompiler.Result result;
+            try {
+                result = compiler.compile(sources);
+            } catch (IOException e) {
+                logger.error("" + e, e);
+                return;
+            }
 
-            File dir = createNewTmpDir();
-            if (dir == null) {
-                logger.warn("Failed to create tmp dir");
+            if (result.isSuccessful()) {
                 return;
             }
-            logger.debug("Created tmp folder: " + dir.getAbsolutePath());
 
-            try {
-                List<TestCase> singleList = new ArrayList<>();
-                singleList.add(test);
-                List<File> generated = compileTests(singleList, dir);
-                if (generated == null) {
-                    iter.remove();
-                    String code = test.toCode();
-                    logger.error("Failed to compile test case:\n" + code);
-                }
-            } finally {
-                //let's be sure we clean up all what we wrote on disk
-                if (dir != null) {
+            boolean attributed = result.getUnattributedErrors().isEmpty();
+            if (!attributed) {
+                logCompilationErrors(result.getUnattributedErrors());
+            }
+
+            boolean removed = false;
+            Iterator<Map.Entry<TestCase, Map<String, String>>> iterator = sourcesOfTest.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<TestCase, Map<String, String>> entry = iterator.next();
+                TestCase test = entry.getKey();
+                Map<String, String> testSources = entry.getValue();
+
+                InMemoryJavaCompiler.Result testResult = result;
+                if (!attributed) {
+                    /*
+                     * cannot tell which test is responsible for the failure,
+                     * so fall back to compiling this test on its own
+                     */
                     try {
-                        FileUtils.deleteDirectory(dir);
-                        logger.debug("Deleted tmp folder: " + dir.getAbsolutePath());
-                    } catch (Exception e) {
-                        logger.error("Cannot delete tmp dir: " + dir.getAbsolutePath(), e);
+                        testResult = compiler.compile(testSources);
+                    } catch (IOException e) {
+                        logger.error("" + e, e);
+                        continue;
+                    }
+                    if (testResult.isSuccessful()) {
+                        continue;
+                    }
+                }
+
+                if (attributed && Collections.disjoint(testResult.getErrors().keySet(), testSources.keySet())) {
+                    continue;
+                }
+
+                tests.remove(test);
+                iterator.remove();
+                removed = true;
+                for (String className : testSources.keySet()) {
+                    List<Diagnostic<? extends JavaFileObject>> errors = testResult.getErrors().get(className);
+                    if (errors != null) {
+                        logCompilationErrors(errors);
                     }
                 }
+                logger.error("Failed to compile test case:\n" + test.toCode());
             }
 
-        } // end of while
+            // each test was compiled on its own if the errors were not attributed
+            if (!attributed || !removed || sourcesOfTest.isEmpty()) {
+                return;
+            }
+
+            sources = new LinkedHashMap<>();
+            for (Map<String, String> testSources : sourcesOfTest.values()) {
+                sources.putAll(testSources);
+            }
+        }
     }
 
     /**
@@ -152,15 +206,8 @@ public abstract class JUnitAnalyzer {
             return numUnstable;
         }
 
-        File dir = createNewTmpDir();
-        if (dir == null) {
-            logger.error("Failed to create tmp dir");
-            return numUnstable;
-        }
-        logger.debug("Created tmp folder: " + dir.getAbsolutePath());
-
         try {
-            List<File> generated = compileTests(tests, dir);
+            Map<String, byte[]> generated = compileTests(tests);
             if (generated == null) {
                 /*
                  * Note: in theory this shouldn't really happen, as check for compilation
@@ -184,7 +231,7 @@ public abstract class JUnitAnalyzer {
                 return numUnstable;
             }
 
-            JUnitResult result = runTests(testClasses, dir);
+            JUnitResult result = runTests(testClasses);
 
             if (result.wasSuccessful()) {
                 return numUnstable; //everything is OK
@@ -264,24 +311,13 @@ public abstract class JUnitAnalyzer {
         } catch (Exception e) {
             logger.error("" + e, e);
             return numUnstable;
-        } finally {
-            //let's be sure we clean up all what we wrote on disk
-
-            if (dir != null) {
-                try {
-                    FileUtils.deleteDirectory(dir);
-                } catch (Exception e) {
-                    logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
-                }
-            }
-
         }
 
         //if we arrive here, then it means at least one test was unstable
         return numUnstable;
     }
 
-    private static JUnitResult runTests(Class<?>[] testClasses, File testClassDir)
+    private static JUnitResult runTests(Class<?>[] testClasses)
             throws JUnitExecutionException {
         return runJUnitOnCurrentProcess(testClasses);
     }
@@ -305,7 +341,14 @@ public abstract class JUnitAnalyzer {
     // EvoSuite classloader, and thus cannot easily be re-loaded
     private static int NUM = 0;
 
-    private static List<File> compileTests(List<TestCase> tests, File dir) {
+    /**
+     * Generate the source code of the given tests as a single test suite, with
+     * a unique name.
+     *
+     * @param tests
+     * @return map from fully qualified class name to source code
+     */
+    private static Map<String, String> getTestSources(List<TestCase> tests) {
 
         TestSuiteWriter suite = new TestSuiteWriter();
         suite.insertAllTests(tests);
@@ -315,83 +358,77 @@ public abstract class JUnitAnalyzer {
         String name = Properties.TARGET_CLASS.substring(beginIndex);
         name += "_" + (NUM++) + "_tmp_" + Properties.JUNIT_SUFFIX; //postfix
 
-        try {
-            //now generate the JUnit test case
-            List<File> generated = suite.writeTestSuite(name, dir.getAbsolutePath(), Collections.EMPTY_LIST);
-            for (File file : generated) {
-                if (!file.exists()) {
-                    logger.error("Supposed to generate " + file
-                            + " but it does not exist");
-                    return null;
-                }
-            }
-
-            //try to compile the test cases
-            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-            if (compiler == null) {
-                logger.error("No Java compiler is available");
-                return null;
-            }
-
-            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
-            Locale locale = Locale.getDefault();
-            Charset charset = StandardCharsets.UTF_8;
-            StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics,
-                    locale,
-                    charset);
+        String packagePrefix = Properties.CLASS_PREFIX;
+        if (!packagePrefix.isEmpty() && !packagePrefix.endsWith(".")) {
+            packagePrefix += ".";
+        }
 
-            Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(generated);
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : suite.generateTestSuiteSources(name, Collections.emptyList()).entrySet()) {
+            sources.put(packagePrefix + entry.getKey(), entry.getValue());
+        }
+        return sources;
+    }
 
-            String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
-            if (JarPathing.containsAPathingJar(evosuiteCP)) {
-                evosuiteCP = JarPathing.expandPathingJars(evosuiteCP);
-            }
+    private static InMemoryJavaCompiler getCompiler() {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            return null;
+        }
 
-            String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
-            if (JarPathing.containsAPathingJar(targetProjectCP)) {
-                targetProjectCP = JarPathing.expandPathingJars(targetProjectCP);
-            }
+        String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
+        if (JarPathing.containsAPathingJar(evosuiteCP)) {
+            evosuiteCP = JarPathing.expandPathingJars(evosuiteCP);
+        }
 
-            String classpath = targetProjectCP + File.pathSeparator + evosuiteCP;
+        String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
+        if (JarPathing.containsAPathingJar(targetProjectCP)) {
+            targetProjectCP = JarPathing.expandPathingJars(targetProjectCP);
+        }
 
-            List<String> optionList = new ArrayList<>(Arrays.asList("-classpath", classpath));
+        String classpath = targetProjectCP + File.pathSeparator + evosuiteCP;
+        return new InMemoryJavaCompiler(compiler, classpath);
+    }
 
-            CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
-                    optionList, null, compilationUnits);
-            boolean compiled = task.call();
-            fileManager.close();
+    /**
+     * Compile the given tests in memory
+     *
+     * @param tests
+     * @return the bytecode of all generated classes, indexed by class name,
+     * or {@code null} if the tests could not be compiled
+     */
+    private static Map<String, byte[]> compileTests(List<TestCase> tests) {
 
-            if (!compiled) {
-                logger.error("Compilation failed on compilation units: " + compilationUnits);
-                logger.error("Classpath: " + classpath);
-                //TODO remove
-                logger.error("evosuiteCP: " + evosuiteCP);
+        InMemoryJavaCompiler compiler = getCompiler();
+        if (compiler == null) {
+            logger.error("No Java compiler is available");
+            return null;
+        }
 
+        Map<String, String> sources = getTestSources(tests);
 
-                for (Diagnostic<?> diagnostic : diagnostics.getDiagnostics()) {
-                    if (diagnostic.getMessage(null).startsWith("error while writing")) {
-                        logger.error("Error is due to file permissions, ignoring...");
-                        return generated;
-                    }
-                    logger.error("Diagnostic: " + diagnostic.getMessage(null) + ": "
-                            + diagnostic.getLineNumber());
+        try {
+            InMemoryJavaCompiler.Result result = compiler.compile(sources);
+            if (!result.isSuccessful()) {
+                logger.error("Compilation failed on compilation units: " + sources.keySet());
+                for (List<Diagnostic<? extends JavaFileObject>> errors : result.getErrors().values()) {
+                    logCompilationErrors(errors);
                 }
-
-                StringBuffer buffer = new StringBuffer();
-                for (JavaFileObject sourceFile : compilationUnits) {
-                    List<String> lines = FileUtils.readLines(new File(sourceFile.toUri().getPath()));
-
-                    buffer.append(compilationUnits.iterator().next().toString() + "\n");
-
-                    for (int i = 0; i < lines.size(); i++) {
-                        buffer.append((i + 1) + ": " + lines.get(i) + "\n");
+                logCompilationErrors(result.getUnattributedErrors());
+
+                StringBuilder buffer = new StringBuilder();
+                for (Map.Entry<String, String> source : sources.entrySet()) {
+                    buffer.append(source.getKey()).append("\n");
+                    String[] lines = source.getValue().split("\n");
+                    for (int i = 0; i < lines.length; i++) {
+                        buffer.append(i + 1).append(": ").append(lines[i]).append("\n");
                     }
                 }
                 logger.error(buffer.toString());
                 return null;
             }
 
-            return generated;
+            return result.getClasses();
 
         } catch (IOException e) {
             logger.error("" + e, e);
@@ -399,6 +436,13 @@ public abstract class JUnitAnalyzer {
         }
     }
 
+    private static void logCompilationErrors(List<Diagnostic<? extends JavaFileObject>> errors) {
+        for (Diagnostic<?> diagnostic : errors) {
+            logger.error("Diagnostic: " + diagnostic.getMessage(null) + ": "
+                    + diagnostic.getLineNumber());
+        }
+    }
+
     protected static File createNewTmpDir() {
         File dir = null;
         String dirName = FileUtils.getTempDirectoryPath() + File.separator + "EvoSuite_"
@@ -420,7 +464,7 @@ public abstract class JUnitAnalyzer {
         return dir;
     }
 
-    private static Class<?>[] loadTests(List<File> tests) {
+    private static Class<?>[] loadTests(Map<String, byte[]> classes) {
 
         /*
          * Ideally, when we run a generated test case, it
@@ -434,67 +478,61 @@ public abstract class JUnitAnalyzer {
          * non-instrumenting classloader to re-load the CUT, and so see
          * if the JavaAgent works properly.
          */
-        Class<?>[] testClasses = getClassesFromFiles(tests);
-        List<File> otherClasses = listOnlyFiles(tests);
+
         /*
-         * this is important to force the loading of all files generated
-         * in the target folder.
-         * If we do not do that, then we will miss all the anonymous classes
+         * first load only the scaffolding classes
          */
-        getClassesFromFiles(otherClasses);
-
-        return testClasses;
-    }
-
-    private static List<File> listOnlyFiles(List<File> tests) throws IllegalArgumentException {
-        if (tests == null || tests.isEmpty()) {
-            return null;
-        }
-
-        Set<String> classNames = new LinkedHashSet<>();
-
-        File parentFolder = tests.get(0).getParentFile();
-        for (File file : tests) {
-            if (!file.getParentFile().equals(parentFolder)) {
-                throw new IllegalArgumentException("Tests file are not in the same folder");
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+            if (isScaffolding(entry.getKey())) {
+                loadClass(entry.getKey(), entry.getValue());
             }
-            classNames.add(removeFileExtension(file.getName()));
         }
 
         /*
-         * if we already loaded a CUT due to its .java, do not want
-         * to re-loaded it for a .class file that is in the same folder
+         * once the scaffoldings are loaded, we can load the tests that
+         * depend on them
          */
-
-        List<File> otherClasses = new LinkedList<>();
-
-        for (File file : parentFolder.listFiles()) {
-            String name = removeFileExtension(file.getName());
-
-            if (classNames.contains(name)) {
+        List<Class<?>> testClasses = new ArrayList<>();
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+            if (isScaffolding(entry.getKey()) || isNestedClass(entry.getKey())) {
                 continue;
             }
+            Class<?> clazz = loadClass(entry.getKey(), entry.getValue());
+            if (clazz != null) {
+                testClasses.add(clazz);
+            }
+        }
 
-            classNames.add(name);
-            otherClasses.add(file);
+        /*
+         * this is important to force the loading of all the generated classes.
+         * If we do not do that, then we will miss all the anonymous classes
+         */
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+            if (isNestedClass(entry.getKey())) {
+                loadClass(entry.getKey(), entry.getValue());
+            }
         }
 
-        return otherClasses;
+        return testClasses.toArray(new Class<?>[0]);
     }
 
+    private static boolean isScaffolding(String className) {
+        return className.endsWith("_" + Properties.SCAFFOLDING_SUFFIX);
+    }
 
-    private static String removeFileExtension(String str) {
-        if (str == null) {
-            return null;
-        }
-
-        int pos = str.lastIndexOf(".");
+    private static boolean isNestedClass(String className) {
+        return className.contains("$");
+    }
 
-        if (pos == -1) {
-            return str;
+    private static Class<?> loadClass(String className, byte[] bytes) {
+        Class<?> testClass = null;
+        try {
+            logger.info("Loading class " + className);
+            testClass = loader.loadClassFromBytes(className, bytes);
+        } catch (ClassNotFoundException e) {
+            logger.error("Failed to load test case " + className + " , error " + e, e);
         }
-
-        return str.substring(0, pos);
+        return testClass;
     }
 
     /**
@@ -507,8 +545,8 @@ public abstract class JUnitAnalyzer {
      * </p>
      *
      * <p>
-     * Here we compile to a tmp folder, load and execute the test cases, and
-     * then clean up (ie delete all generated files).
+     * Here we compile in memory, load and execute the test cases, without
+     * writing anything to disk.
      * </p>
      *
      * @param tests
@@ -522,14 +560,8 @@ public abstract class JUnitAnalyzer {
             return true;
         }
 
-        File dir = createNewTmpDir();
-        if (dir == null) {
-            logger.warn("Failed to create tmp dir");
-            return false;
-        }
-
         try {
-            List<File> generated = compileTests(tests, dir);
+            Map<String, byte[]> generated = compileTests(tests);
             if (generated == null) {
                 logger.warn("Failed to compile the test cases ");
                 return false;
@@ -544,7 +576,7 @@ public abstract class JUnitAnalyzer {
                 return false;
             }
 
-            JUnitResult result = runTests(testClasses, dir);
+            JUnitResult result = runTests(testClasses);
 
             if (!result.wasSuccessful()) {
                 logger.error("" + result.getFailureCount() + " test cases failed");
@@ -568,15 +600,6 @@ public abstract class JUnitAnalyzer {
         } catch (Exception e) {
             logger.error("" + e, e);
             return false;
-        } finally {
-            //let's be sure we clean up all what we wrote on disk
-            if (dir != null) {
-                try {
-                    FileUtils.deleteDirectory(dir);
-                } catch (IOException e) {
-                    logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
-                }
-            }
         }
 
         logger.debug("Successfully compiled and run test cases generated for "
@@ -584,93 +607,6 @@ public abstract class JUnitAnalyzer {
         return true;
     }
 
-    /**
-     * Given a list of files representing .java/.class classes, load them (it
-     * assumes the classpath to be correctly set)
-     *
-     * @param files
-     * @return
-     */
-    private static Class<?>[] getClassesFromFiles(Collection<File> files) {
-        /*
-         * first load only the scaffolding files
-         */
-        for (File file : files) {
-            if (!isScaffolding(file)) {
-                continue;
-            }
-            loadClass(file);
-        }
-
-        List<Class<?>> classes = new ArrayList<>();
-
-        /*
-         * once the scaffoldings are loaded, we can load the tests that
-         * depend on them
-         */
-        for (File file : files) {
-            if (isScaffolding(file)) {
-                continue;
-            }
-            Class<?> clazz = loadClass(file);
-            if (clazz != null) {
-                classes.add(clazz);
-            }
-        }
-
-        return classes.toArray(new Class<?>[classes.size()]);
-    }
-
-    private static boolean isScaffolding(File file) {
-        String name = file.getName();
-        return name.endsWith("_" + Properties.SCAFFOLDING_SUFFIX + JAVA) ||
-                name.endsWith("_" + Properties.SCAFFOLDING_SUFFIX + CLASS);
-    }
-
-    private static Class<?> loadClass(File file) {
-        if (!file.isFile()) {
-            return null;
-        }
-
-        String packagePrefix = Properties.CLASS_PREFIX;
-        if (!packagePrefix.isEmpty() && !packagePrefix.endsWith(".")) {
-            packagePrefix += ".";
-        }
-
-        String name = file.getName();
-
-        if (!name.endsWith(JAVA) && !name.endsWith(CLASS)) {
-            /*
-             * this could happen when we scan a folder for all src/compiled
-             * files
-             */
-            return null;
-        }
-
-        String fileName = file.getAbsolutePath();
-
-        if (name.endsWith(JAVA)) {
-            name = name.substring(0, name.length() - JAVA.length());
-            fileName = fileName.substring(0, fileName.length() - JAVA.length()) + ".class";
-        } else {
-            assert name.endsWith(CLASS);
-            name = name.substring(0, name.length() - CLASS.length());
-        }
-
-        String className = packagePrefix + name;
-
-        Class<?> testClass = null;
-        try {
-            logger.info("Loading class " + className);
-            //testClass = ((InstrumentingClassLoader) TestGenerationContext.getInstance().getClassLoaderForSUT()).loadClassFromFile(className,
-            testClass = loader.loadClassFromFile(className, fileName);
-        } catch (ClassNotFoundException e) {
-            logger.error("Failed to load test case " + className + " from file "
-                    + file.getAbsolutePath() + " , error " + e, e);
-        }
-        return testClass;
-    }
-
     /**
      * Class defining what functionality must be defined for different JUNIT versions.
      */
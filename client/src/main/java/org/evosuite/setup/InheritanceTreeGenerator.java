@@ -24,6 +24,7 @@ import org.evosuite.ClientProcess;
 import org.evosuite.PackageInfo;
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathIndex;
 import org.evosuite.classpath.ResourceList;
 import org.evosuite.rmi.ClientServices;
 import org.evosuite.statistics.RuntimeVariable;
@@ -32,7 +33,6 @@ import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.InnerClassNode;
-import org.objectweb.asm.tree.MethodNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -92,8 +92,17 @@ public class InheritanceTreeGenerator {
 
             logger.debug("Analyzing classpath entry {}", classPathEntry);
             LoggingUtils.getEvoLogger().info("  - " + classPathEntry);
+            ClassPathIndex.JarIndex jarIndex = null;
+            if (classPathEntry.endsWith(".jar")) {
+                jarIndex = ClassPathIndex.getInstance().getJarIndex(classPathEntry);
+            }
             for (String className : ResourceList.getInstance(
                     TestGenerationContext.getInstance().getClassLoaderForSUT()).getAllClasses(classPathEntry, "", true, false)) {
+                ClassPathIndex.ClassInfo classInfo = jarIndex == null ? null : jarIndex.getClassInfo(className);
+                if (classInfo != null) {
+                    analyzeClassInfo(inheritanceTree, classInfo, false);
+                    continue;
+                }
                 // handle individual class
                 analyzeClassStream(inheritanceTree, ResourceList.getInstance(
                         TestGenerationContext.getInstance().getClassLoaderForSUT()).getClassAsStream(className), false);
@@ -246,30 +255,33 @@ public class InheritanceTreeGenerator {
         }
     }
 
-    @SuppressWarnings("unchecked")
     private static void analyzeClassNode(InheritanceTree inheritanceTree,
                                          ClassNode cn, boolean onlyPublic) {
+        analyzeClassInfo(inheritanceTree, ClassPathIndex.ClassInfo.fromClassNode(cn), onlyPublic);
+    }
+
+    private static void analyzeClassInfo(InheritanceTree inheritanceTree,
+                                         ClassPathIndex.ClassInfo cn, boolean onlyPublic) {
 
-        logger.info("Analyzing class {}", cn.name);
+        logger.info("Analyzing class {}", cn.getName());
 
         // Don't load classes already seen from a different CP entry
-        if (inheritanceTree.hasClass(cn.name))
+        if (inheritanceTree.hasClass(cn.getName()))
             return;
 
-        if ((Opcodes.ACC_INTERFACE & cn.access) != Opcodes.ACC_INTERFACE) {
-            for (Object m : cn.methods) {
-                MethodNode mn = (MethodNode) m;
+        if ((Opcodes.ACC_INTERFACE & cn.getAccess()) != Opcodes.ACC_INTERFACE) {
+            for (ClassPathIndex.MethodInfo mn : cn.getMethods()) {
                 inheritanceTree
-                        .addAnalyzedMethod(cn.name, mn.name, mn.desc);
+                        .addAnalyzedMethod(cn.getName(), mn.getName(), mn.getDesc());
             }
-            if ((Opcodes.ACC_ABSTRACT & cn.access) == Opcodes.ACC_ABSTRACT) {
-                inheritanceTree.registerAbstractClass(cn.name);
+            if ((Opcodes.ACC_ABSTRACT & cn.getAccess()) == Opcodes.ACC_ABSTRACT) {
+                inheritanceTree.registerAbstractClass(cn.getName());
             }
         } else {
-            inheritanceTree.registerInterface(cn.name);
+            inheritanceTree.registerInterface(cn.getName());
         }
         if (onlyPublic) {
-            if ((cn.access & Opcodes.ACC_PUBLIC) == 0) {
+            if ((cn.getAccess() & Opcodes.ACC_PUBLIC) == 0) {
                 return;
             }
 //		} else {
@@ -279,12 +291,11 @@ public class InheritanceTreeGenerator {
 //			}
         }
 
-        if (cn.superName != null)
-            inheritanceTree.addSuperclass(cn.name, cn.superName, cn.access);
+        if (cn.getSuperName() != null)
+            inheritanceTree.addSuperclass(cn.getName(), cn.getSuperName(), cn.getAccess());
 
-        List<String> interfaces = cn.interfaces;
-        for (String interfaceName : interfaces) {
-            inheritanceTree.addInterface(cn.name, interfaceName);
+        for (String interfaceName : cn.getInterfaces()) {
+            inheritanceTree.addInterface(cn.getName(), interfaceName);
         }
     }
 
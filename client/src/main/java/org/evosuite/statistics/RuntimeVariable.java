@@ -626,7 +626,10 @@ public enum RuntimeVariable {
      */
     QueryCacheSize,
     QueryCacheCalls,
-    QueryCacheHitRate;
+    QueryCacheHitRate,
+    SolverCacheSize,
+    SolverCacheHitRate,
+    SolverCachePersistedHits;
 
     /* -------------------------------------------------- */
 
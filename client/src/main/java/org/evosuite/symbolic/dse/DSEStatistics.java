@@ -307,6 +307,9 @@ public class DSEStatistics {
             percentFormat.setMaximumFractionDigits(1);
             String hit_rate_str = percentFormat.format(SolverCache.getInstance().getHitRate());
             logger.info(String.format("  - Cache hit rate: %s", hit_rate_str));
+            logger.info(String.format("  - Hits on results of previous runs: %s",
+                    SolverCache.getInstance().getNumberOfPersistedHits()));
+            logger.info(String.format("  - Evicted results: %s", SolverCache.getInstance().getNumberOfEvictions()));
         }
     }
 
@@ -688,6 +691,9 @@ public class DSEStatistics {
         trackOutputVariable(RuntimeVariable.QueryCacheSize, querycacheSize);
         trackOutputVariable(RuntimeVariable.QueryCacheCalls, queryCacheCalls);
         trackOutputVariable(RuntimeVariable.QueryCacheHitRate, getQueryCacheHitRate(queryCacheHits, queryCacheCalls));
+        trackOutputVariable(RuntimeVariable.SolverCacheSize, SolverCache.getInstance().size());
+        trackOutputVariable(RuntimeVariable.SolverCacheHitRate, SolverCache.getInstance().getHitRate());
+        trackOutputVariable(RuntimeVariable.SolverCachePersistedHits, SolverCache.getInstance().getNumberOfPersistedHits());
     }
 
     /**
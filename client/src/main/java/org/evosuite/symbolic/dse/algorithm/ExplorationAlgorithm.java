@@ -44,6 +44,9 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * Structure of a DSE Exploration algorithm,
@@ -121,6 +124,12 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
     private final transient ConcolicExecutor engine;
     private final transient Solver solver;
 
+    /**
+     * Pool solving the queries of the children of a path in parallel,
+     * see {@link Properties#DSE_SOLVER_THREADS}
+     **/
+    private static ForkJoinPool solverPool = null;
+
     public ExplorationAlgorithm() {
         this(
                 SHOW_PROGRESS_DEFAULT_VALUE,
@@ -295,6 +304,12 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
     }
 
     private void processChildren(Queue<DSETestCase> testCasesWorkList, HashSet<Set<Constraint<?>>> seenChildren, DSETestCase currentTestCase, List<GenerationalSearchPathCondition> children, boolean hasPathConditionDiverged) {
+        ForkJoinPool pool = getSolverPool();
+        if (pool != null && children.size() > 1) {
+            processChildrenConcurrently(pool, testCasesWorkList, seenChildren, currentTestCase, children, hasPathConditionDiverged);
+            return;
+        }
+
         // We look at all the children
         for (GenerationalSearchPathCondition child : children) {
             List<Constraint<?>> childQuery = SolverUtils.buildQuery(child.getPathCondition());
@@ -352,6 +367,141 @@ public abstract class ExplorationAlgorithm extends ExplorationAlgorithmBase {
         }
     }
 
+    /**
+     * Same as {@link #processChildren}, but the queries that are not in any cache are solved in
+     * parallel. Only the solver calls run on the pool: the caches, the statistics and the creation
+     * of the new test cases stay on the exploring thread, in the order of the children.
+     *
+     * @param pool
+     * @param testCasesWorkList
+     * @param seenChildren
+     * @param currentTestCase
+     * @param children
+     * @param hasPathConditionDiverged
+     */
+    private void processChildrenConcurrently(ForkJoinPool pool, Queue<DSETestCase> testCasesWorkList, HashSet<Set<Constraint<?>>> seenChildren, DSETestCase currentTestCase, List<GenerationalSearchPathCondition> children, boolean hasPathConditionDiverged) {
+        List<ChildQuery> childQueries = new ArrayList<>();
+        Set<Set<Constraint<?>>> batchQueries = new HashSet<>();
+
+        // Checks the caches and starts solving the remaining queries
+        for (GenerationalSearchPathCondition child : children) {
+            List<Constraint<?>> childQuery = SolverUtils.buildQuery(child.getPathCondition());
+            Set<Constraint<?>> normalizedChildQuery = normalize(childQuery);
+
+            if (shouldSkipChild(seenChildren, normalizedChildQuery)) continue;
+            if (!batchQueries.add(normalizedChildQuery)) continue;
+            if (this.isFinished()) break;
+
+            CacheQueryResult cacheQueryResult = cachingStrategy.checkCache(normalizedChildQuery, queryCache);
+            if (cacheQueryResult.hitUnSat()) continue;
+
+            logger.debug(CACHE_CALL_HIT_UNSAT);
+            statisticsLogger.reportNewConstraints(childQuery);
+            ChildQuery current = new ChildQuery(child, normalizedChildQuery);
+
+            if (cacheQueryResult.hitSat()) {
+                logger.debug(CACHE_CALL_HIT_SAT);
+                current.smtSolution = cacheQueryResult.getSmtSolution();
+            } else {
+                assert (cacheQueryResult.missed());
+                logger.debug(CACHE_CALL_MISSED);
+                logger.debug(SOLVING_QUERY_WITH_CONSTRAINTS, childQuery.size());
+
+                childQuery.addAll(
+                        SolverUtils.createBoundsForQueryVariables(childQuery)
+                );
+
+                logger.debug(SOLVER_QUERY_STARTED_MESSAGE, childQuery.size());
+                current.smtQueryResult = pool.submit(() -> {
+                    long startSolvingTime = System.currentTimeMillis();
+                    SolverResult smtQueryResult = doSolveQuery(childQuery);
+                    current.solvingTime = System.currentTimeMillis() - startSolvingTime;
+                    return smtQueryResult;
+                });
+            }
+            childQueries.add(current);
+        }
+
+        // Collects the solutions in order
+        for (int i = 0; i < childQueries.size(); i++) {
+            ChildQuery current = childQueries.get(i);
+
+            if (current.smtQueryResult != null) {
+                if (this.isFinished()) {
+                    for (ChildQuery remaining : childQueries.subList(i, childQueries.size())) {
+                        if (remaining.smtQueryResult != null) {
+                            remaining.smtQueryResult.cancel(true);
+                        }
+                    }
+                    return;
+                }
+
+                SolverResult smtQueryResult = null;
+                try {
+                    smtQueryResult = current.smtQueryResult.get();
+                    DSEStatistics.getInstance().reportNewSolvingTime(current.solvingTime);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    logger.debug(SOLVER_ERROR_DEBUG_MESSAGE, e.getCause().getMessage());
+                }
+                current.smtSolution = getQuerySolution(current.normalizedQuery, smtQueryResult);
+            }
+
+            if (current.smtSolution != null) {
+                DSETestCase newTestCase = generateNewTestCase(
+                        currentTestCase,
+                        current.child,
+                        current.smtSolution,
+                        hasPathConditionDiverged);
+
+                testCasesWorkList.offer(newTestCase);
+                addNewTestCaseToTestSuite(newTestCase);
+
+                // NOTE: We consider adding a test case an iteration
+                notifyIteration();
+            }
+        }
+    }
+
+    /**
+     * Returns the pool used to solve queries in parallel, or null if queries are solved
+     * sequentially. This is only done with external solvers: the EvoSuite solver searches by
+     * assigning values to the variables, which are shared among the queries of one path.
+     *
+     * @return
+     */
+    private ForkJoinPool getSolverPool() {
+        if (Properties.DSE_SOLVER_THREADS <= 1 || !(solver instanceof SmtSolver)) {
+            return null;
+        }
+        synchronized (ExplorationAlgorithm.class) {
+            if (solverPool == null || solverPool.getParallelism() != Properties.DSE_SOLVER_THREADS) {
+                if (solverPool != null) {
+                    solverPool.shutdown();
+                }
+                solverPool = new ForkJoinPool(Properties.DSE_SOLVER_THREADS);
+            }
+            return solverPool;
+        }
+    }
+
+    /**
+     * A child whose query is either answered by the cache or being solved.
+     */
+    private static final class ChildQuery {
+        private final GenerationalSearchPathCondition child;
+        private final Set<Constraint<?>> normalizedQuery;
+        private Map<String, Object> smtSolution = null;
+        private Future<SolverResult> smtQueryResult = null;
+        private long solvingTime = 0;
+
+        private ChildQuery(GenerationalSearchPathCondition child, Set<Constraint<?>> normalizedQuery) {
+            this.child = child;
+            this.normalizedQuery = normalizedQuery;
+        }
+    }
+
     /**
      * Child PC is not processed if it was already explored, this is:
      * - Their constraints were already solved by a previous SMT query
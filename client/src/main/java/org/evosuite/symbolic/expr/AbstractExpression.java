@@ -19,6 +19,7 @@
  */
 package org.evosuite.symbolic.expr;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -32,6 +33,16 @@ public abstract class AbstractExpression<T> implements Expression<T> {
 
     private final int size;
 
+    /**
+     * Cached results of {@link #computeHashCode()} and
+     * {@link #computeVariables()}. Expressions are immutable and are shared
+     * across all the constraints of a path condition, so these are computed
+     * at most once per node instead of once per traversal.
+     */
+    private transient int hash = 0;
+
+    private transient volatile Set<Variable<?>> variables = null;
+
     public AbstractExpression(T concreteValue, int size, boolean containsSymbolicVariable) {
         this.concreteValue = concreteValue;
         this.size = size;
@@ -78,6 +89,50 @@ public abstract class AbstractExpression<T> implements Expression<T> {
         return concreteValue;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final int hashCode() {
+        if (hash == 0) {
+            hash = computeHashCode();
+        }
+        return hash;
+    }
+
+    /**
+     * Computes the hash code of this expression. Subclasses that override
+     * <code>equals</code> must override this method accordingly.
+     *
+     * @return the hash code of this expression
+     */
+    protected int computeHashCode() {
+        return super.hashCode();
+    }
+
+    /**
+     * Returns the (unmodifiable) set of variables this expression depends on.
+     *
+     * @return a set of variables
+     */
+    @Override
+    public final Set<Variable<?>> getVariables() {
+        Set<Variable<?>> result = variables;
+        if (result == null) {
+            result = Collections.unmodifiableSet(computeVariables());
+            variables = result;
+        }
+        return result;
+    }
+
+    /**
+     * Collects the variables of this expression. Implementations may rely on
+     * the cached sets returned by {@link #getVariables()} on their operands.
+     *
+     * @return a fresh set of variables
+     */
+    protected abstract Set<Variable<?>> computeVariables();
+
     @Override
     public Set<Object> getConstants() {
         Set<Object> result = new HashSet<>();
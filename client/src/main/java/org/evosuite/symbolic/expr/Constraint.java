@@ -22,6 +22,7 @@ package org.evosuite.symbolic.expr;
 import org.evosuite.symbolic.expr.constraint.ConstraintVisitor;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -102,6 +103,9 @@ public abstract class Constraint<T extends Object> implements Serializable {
         }
 
         Constraint<?> other = (Constraint<?>) obj;
+        if (this.hashCode() != other.hashCode()) {
+            return false;
+        }
         return this.getComparator().equals(other.getComparator())
                 // && this.getSize() == other.getSize()
                 && this.getLeftOperand().equals(other.getLeftOperand())
@@ -134,10 +138,22 @@ public abstract class Constraint<T extends Object> implements Serializable {
         return x / (x + 1.0);
     }
 
+    private transient volatile Set<Variable<?>> variables = null;
+
+    /**
+     * Returns the (unmodifiable) set of variables of both operands.
+     *
+     * @return a set of variables
+     */
     public Set<Variable<?>> getVariables() {
-        Set<Variable<?>> result = new HashSet<>();
-        result.addAll(this.getLeftOperand().getVariables());
-        result.addAll(this.getRightOperand().getVariables());
+        Set<Variable<?>> result = variables;
+        if (result == null) {
+            Set<Variable<?>> union = new HashSet<>();
+            union.addAll(this.getLeftOperand().getVariables());
+            union.addAll(this.getRightOperand().getVariables());
+            result = Collections.unmodifiableSet(union);
+            variables = result;
+        }
         return result;
     }
 
@@ -115,13 +115,13 @@ public final class IntegerBinaryExpression extends AbstractExpression<Long>
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return this.left.hashCode() + this.op.hashCode()
                 + this.right.hashCode();
     }
 
     @Override
-    public Set<Variable<?>> getVariables() {
+    protected Set<Variable<?>> computeVariables() {
         Set<Variable<?>> variables = new HashSet<>();
         variables.addAll(this.left.getVariables());
         variables.addAll(this.right.getVariables());
@@ -85,12 +85,12 @@ public final class RealToIntegerCast extends AbstractExpression<Long> implements
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return this.expr.hashCode();
     }
 
     @Override
-    public Set<Variable<?>> getVariables() {
+    protected Set<Variable<?>> computeVariables() {
         Set<Variable<?>> variables = new HashSet<>(this.expr.getVariables());
         return variables;
     }
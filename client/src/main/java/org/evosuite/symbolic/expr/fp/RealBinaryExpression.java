@@ -111,12 +111,12 @@ public final class RealBinaryExpression extends AbstractExpression<Double> imple
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return this.left.hashCode() + this.op.hashCode() + this.right.hashCode();
     }
 
     @Override
-    public Set<Variable<?>> getVariables() {
+    protected Set<Variable<?>> computeVariables() {
         Set<Variable<?>> variables = new HashSet<>();
         variables.addAll(this.left.getVariables());
         variables.addAll(this.right.getVariables());
@@ -110,12 +110,12 @@ public final class RealVariable extends AbstractExpression<Double> implements Re
      * {@inheritDoc}
      */
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return this.name.hashCode();
     }
 
     @Override
-    public Set<Variable<?>> getVariables() {
+    protected Set<Variable<?>> computeVariables() {
         Set<Variable<?>> variables = new HashSet<>();
         variables.add(this);
         return variables;
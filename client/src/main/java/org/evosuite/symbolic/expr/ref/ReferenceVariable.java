@@ -64,7 +64,7 @@ public abstract class ReferenceVariable extends ReferenceExpression implements V
      * @return
      */
     @Override
-    public Set<Variable<?>> getVariables() {
+    protected Set<Variable<?>> computeVariables() {
         return Collections.singleton(this);
     }
 
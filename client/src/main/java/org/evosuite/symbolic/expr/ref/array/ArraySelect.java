@@ -62,7 +62,7 @@ public final class ArraySelect {
         }
 
         @Override
-        public Set<Variable<?>> getVariables() {
+        protected Set<Variable<?>> computeVariables() {
             Set<Variable<?>> variables = new HashSet<>();
             variables.addAll(this.symbolicArray.getVariables());
             variables.addAll(this.symbolicIndex.getVariables());
@@ -128,7 +128,7 @@ public final class ArraySelect {
         }
 
         @Override
-        public Set<Variable<?>> getVariables() {
+        protected Set<Variable<?>> computeVariables() {
             Set<Variable<?>> variables = new HashSet<>();
             variables.addAll(this.symbolicArray.getVariables());
             variables.addAll(this.symbolicIndex.getVariables());
@@ -192,7 +192,7 @@ public final class ArraySelect {
         }
 
         @Override
-        public Set<Variable<?>> getVariables() {
+        protected Set<Variable<?>> computeVariables() {
             Set<Variable<?>> variables = new HashSet<>();
             variables.addAll(this.symbolicArray.getVariables());
             variables.addAll(this.symbolicIndex.getVariables());
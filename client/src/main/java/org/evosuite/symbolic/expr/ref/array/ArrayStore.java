@@ -64,7 +64,7 @@ public final class ArrayStore {
         }
 
         @Override
-        public Set<Variable<?>> getVariables() {
+        protected Set<Variable<?>> computeVariables() {
             Set<Variable<?>> variables = new HashSet<Variable<?>>();
             variables.addAll(this.symbolicArray.getVariables());
             variables.addAll(this.symbolicIndex.getVariables());
@@ -127,7 +127,7 @@ public final class ArrayStore {
         }
 
         @Override
-        public Set<Variable<?>> getVariables() {
+        protected Set<Variable<?>> computeVariables() {
             Set<Variable<?>> variables = new HashSet<Variable<?>>();
             variables.addAll(this.symbolicArray.getVariables());
             variables.addAll(this.symbolicIndex.getVariables());
@@ -190,7 +190,7 @@ public final class ArrayStore {
         }
 
         @Override
-        public Set<Variable<?>> getVariables() {
+        protected Set<Variable<?>> computeVariables() {
             Set<Variable<?>> variables = new HashSet<Variable<?>>();
             variables.addAll(this.symbolicArray.getVariables());
             variables.addAll(this.symbolicIndex.getVariables());
@@ -37,7 +37,7 @@ public abstract class ReferenceTypeConstant extends ReferenceTypeExpression {
     }
 
     @Override
-    public Set<Variable<?>> getVariables() {
+    protected Set<Variable<?>> computeVariables() {
         return Collections.emptySet();
     }
 }
\ No newline at end of file
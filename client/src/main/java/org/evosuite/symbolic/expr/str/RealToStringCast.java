@@ -74,7 +74,7 @@ public final class RealToStringCast extends AbstractExpression<String> implement
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return this.expr.hashCode();
     }
 
@@ -87,7 +87,7 @@ public final class RealToStringCast extends AbstractExpression<String> implement
     }
 
     @Override
-    public Set<Variable<?>> getVariables() {
+    protected Set<Variable<?>> computeVariables() {
         Set<Variable<?>> variables = new HashSet<>(this.expr.getVariables());
         return variables;
     }
@@ -43,7 +43,7 @@ public final class NextTokenizerExpr extends TokenizerExpr {
     private static final long serialVersionUID = -5041244020293557448L;
 
     @Override
-    public Set<Variable<?>> getVariables() {
+    protected Set<Variable<?>> computeVariables() {
         return tokenizerExpr.getVariables();
     }
 
@@ -63,7 +63,7 @@ public final class NextTokenizerExpr extends TokenizerExpr {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return tokenizerExpr.hashCode();
     }
 
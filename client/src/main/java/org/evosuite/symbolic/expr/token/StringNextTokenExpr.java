@@ -92,12 +92,12 @@ public final class StringNextTokenExpr extends AbstractExpression<String> implem
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return this.tokenizerExpr.hashCode();
     }
 
     @Override
-    public Set<Variable<?>> getVariables() {
+    protected Set<Variable<?>> computeVariables() {
         Set<Variable<?>> variables = new HashSet<>(this.tokenizerExpr.getVariables());
         return variables;
     }
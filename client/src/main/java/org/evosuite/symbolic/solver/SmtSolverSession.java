@@ -0,0 +1,383 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.apache.commons.exec.CommandLine;
+import org.evosuite.symbolic.solver.smt.SmtAssertion;
+import org.evosuite.symbolic.solver.smt.SmtConstantDeclaration;
+import org.evosuite.symbolic.solver.smt.SmtFunctionDeclaration;
+import org.evosuite.symbolic.solver.smt.SmtFunctionDefinition;
+import org.evosuite.symbolic.solver.smt.SmtModelParser;
+import org.evosuite.symbolic.solver.smt.SmtQuery;
+import org.evosuite.symbolic.solver.smt.SmtQueryPrinter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A solver process that is kept alive between queries and fed with SMT-LIB
+ * commands over its standard input.
+ * <p>
+ * Every assertion is asserted in its own {@code push} scope, together with the
+ * declarations it introduces. Path conditions explored by DSE usually share a
+ * long prefix with the previous query, so only the scopes after the common
+ * prefix are popped, and only the new assertions are sent before the next
+ * {@code check-sat}.
+ * <p>
+ * If the solver does not answer in time, reports an error or dies, the
+ * process is discarded and the next query starts a new one.
+ * <p>
+ * A session solves one query at a time. Queries solved in parallel (see
+ * {@link org.evosuite.Properties#DSE_SOLVER_THREADS}) each borrow an idle
+ * session of the solver command, so they neither wait for each other nor pop
+ * each other's scopes. There are never more sessions of a command than
+ * queries solved at the same time.
+ */
+public final class SmtSolverSession {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtSolverSession.class);
+
+    /**
+     * Printed by the solver after each batch of commands, so that we know
+     * when the response is complete
+     */
+    private static final String END_OF_RESPONSE = "evosuite-end-of-response";
+
+    /**
+     * Put in the queue of output lines when the solver closes its output
+     */
+    private static final String END_OF_STREAM = "\u0000";
+
+    /**
+     * Time granted on top of the solver timeout before the process is killed
+     */
+    private static final int GRACE_PERIOD_MILLIS = 1000;
+
+    /**
+     * All the sessions that are open, and the idle ones of each solver command
+     */
+    private static final List<SmtSolverSession> sessions = new ArrayList<>();
+    private static final Map<String, Deque<SmtSolverSession>> idleSessions = new HashMap<>();
+
+    private final String solverCmd;
+
+    private Process process = null;
+
+    private Writer stdin = null;
+
+    /**
+     * Output lines of the current process. Each process gets its own queue,
+     * as the reader of a discarded process may still be adding to its queue
+     */
+    private BlockingQueue<String> stdout = null;
+
+    private String logic = null;
+
+    private final Map<String, String> options = new HashMap<>();
+
+    /**
+     * The assertion of each scope that is currently pushed
+     */
+    private final List<String> scopes = new ArrayList<>();
+
+    /**
+     * Declarations and definitions by name, and the scope they were made in
+     */
+    private final Map<String, String> declarations = new HashMap<>();
+    private final Map<String, Integer> declarationScopes = new HashMap<>();
+
+    SmtSolverSession(String solverCmd) {
+        this.solverCmd = solverCmd;
+    }
+
+    /**
+     * Solves the query on an idle session of the given solver command, or on
+     * a new one if all of them are busy solving other queries.
+     *
+     * @param solverCmd   the command line that starts the solver in interactive mode
+     * @param query       the query to solve
+     * @param hardTimeout milliseconds after which the solver is considered stuck
+     * @return the output of the solver
+     * @throws IOException            if the solver process cannot be started or written to
+     * @throws SolverTimeoutException if the solver does not answer in time
+     * @throws SolverErrorException   if the solver process died
+     * @see #solve(SmtQuery, int)
+     */
+    public static String solve(String solverCmd, SmtQuery query, int hardTimeout)
+            throws IOException, SolverTimeoutException, SolverErrorException {
+        SmtSolverSession session = acquire(solverCmd);
+        try {
+            return session.solve(query, hardTimeout);
+        } finally {
+            release(session);
+        }
+    }
+
+    /**
+     * Takes the most recently used idle session of the command, whose
+     * assertions are the most likely to share a prefix with the next query
+     */
+    static synchronized SmtSolverSession acquire(String solverCmd) {
+        SmtSolverSession session = idleSessions.computeIfAbsent(solverCmd, cmd -> new ArrayDeque<>()).pollFirst();
+        if (session == null) {
+            session = new SmtSolverSession(solverCmd);
+            sessions.add(session);
+        }
+        return session;
+    }
+
+    static synchronized void release(SmtSolverSession session) {
+        // Sessions closed by closeAll while solving are not reused
+        if (sessions.contains(session)) {
+            idleSessions.get(session.solverCmd).addFirst(session);
+        }
+    }
+
+    /**
+     * Terminates all solver processes
+     */
+    public static synchronized void closeAll() {
+        sessions.forEach(SmtSolverSession::close);
+        sessions.clear();
+        idleSessions.clear();
+    }
+
+    /**
+     * Solves the query and returns the output of the solver in the same
+     * format as a solver run on the complete query in batch mode, i.e. the
+     * check-sat result followed by the model if the query is satisfiable.
+     *
+     * @param query       the query to solve
+     * @param hardTimeout milliseconds after which the solver is considered stuck
+     * @return the output of the solver
+     * @throws IOException            if the solver process cannot be started or written to
+     * @throws SolverTimeoutException if the solver does not answer in time
+     * @throws SolverErrorException   if the solver process died
+     */
+    public synchronized String solve(SmtQuery query, int hardTimeout)
+            throws IOException, SolverTimeoutException, SolverErrorException {
+        if (process != null && !process.isAlive()) {
+            close();
+        }
+        if (process == null) {
+            start();
+        }
+
+        String commands = buildCommands(query);
+        logger.debug("Incremental solver commands:");
+        logger.debug(commands);
+
+        String checkSatResult = send(commands + "(check-sat)\n", hardTimeout);
+        String output = checkSatResult;
+        if (checkSatResult.startsWith(SmtModelParser.SAT_TOKEN)) {
+            output += send("(get-model)\n", hardTimeout);
+        }
+
+        if (output.contains("(error")) {
+            // We do not know which commands took effect, so start from scratch
+            logger.debug("Solver reported an error, discarding the session: {}", output);
+            close();
+        }
+        return output;
+    }
+
+    /**
+     * Returns the commands that bring the solver from its current state to
+     * the assertions of the query, and records the new state.
+     */
+    String buildCommands(SmtQuery query) {
+        SmtQueryPrinter printer = new SmtQueryPrinter();
+        StringBuilder commands = new StringBuilder();
+
+        if (query.hasLogic() && !query.getLogic().equals(logic)) {
+            if (logic != null) {
+                commands.append("(reset)\n");
+                clearState();
+            }
+            logic = query.getLogic();
+            commands.append("(set-logic ").append(logic).append(")\n");
+        }
+
+        for (String optionName : query.getOptions()) {
+            String optionValue = query.getOptionValue(optionName);
+            if (!optionValue.equals(options.get(optionName))) {
+                options.put(optionName, optionValue);
+                commands.append(String.format("(set-option %s %s)%n", optionName, optionValue));
+            }
+        }
+
+        Map<String, String> requiredDeclarations = new LinkedHashMap<>();
+        for (SmtConstantDeclaration declaration : query.getConstantDeclarations()) {
+            requiredDeclarations.put(declaration.getConstantName(), printer.print(declaration));
+        }
+        for (SmtFunctionDeclaration declaration : query.getFunctionDeclarations()) {
+            requiredDeclarations.put(declaration.getFunctionName(), printer.print(declaration));
+        }
+        for (SmtFunctionDefinition definition : query.getFunctionDefinitions()) {
+            String name = definition.getFunctionDefinition().trim().split("[\\s(]", 2)[0];
+            requiredDeclarations.put(name, printer.print(definition));
+        }
+
+        List<String> assertions = new ArrayList<>();
+        for (SmtAssertion assertion : query.getAssertions()) {
+            assertions.add(printer.print(assertion));
+        }
+
+        // Keep the scopes of the common prefix, unless one of them declared
+        // a name differently from what this query needs
+        int keep = 0;
+        while (keep < scopes.size() && keep < assertions.size() && scopes.get(keep).equals(assertions.get(keep))) {
+            keep++;
+        }
+        for (Map.Entry<String, String> declaration : requiredDeclarations.entrySet()) {
+            String declared = declarations.get(declaration.getKey());
+            if (declared != null && !declared.equals(declaration.getValue())) {
+                keep = Math.min(keep, declarationScopes.get(declaration.getKey()));
+            }
+        }
+
+        final int commonScopes = keep;
+        logger.debug("Reusing {} of {} asserted scopes", commonScopes, scopes.size());
+        if (scopes.size() > commonScopes) {
+            commands.append("(pop ").append(scopes.size() - commonScopes).append(")\n");
+            scopes.subList(commonScopes, scopes.size()).clear();
+            declarationScopes.values().removeIf(scope -> scope >= commonScopes);
+            declarations.keySet().retainAll(declarationScopes.keySet());
+        }
+
+        for (int i = commonScopes; i < assertions.size(); i++) {
+            commands.append("(push 1)\n");
+            if (i == commonScopes) {
+                for (Map.Entry<String, String> declaration : requiredDeclarations.entrySet()) {
+                    if (!declarations.containsKey(declaration.getKey())) {
+                        commands.append(declaration.getValue()).append("\n");
+                        declarations.put(declaration.getKey(), declaration.getValue());
+                        declarationScopes.put(declaration.getKey(), i);
+                    }
+                }
+            }
+            commands.append(assertions.get(i)).append("\n");
+            scopes.add(assertions.get(i));
+        }
+
+        return commands.toString();
+    }
+
+    int getNumberOfScopes() {
+        return scopes.size();
+    }
+
+    private void start() throws IOException {
+        logger.debug("Starting solver process: {}", solverCmd);
+        ProcessBuilder builder = new ProcessBuilder(CommandLine.parse(solverCmd).toStrings());
+        builder.redirectErrorStream(true);
+        process = builder.start();
+        stdin = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+        stdout = new LinkedBlockingQueue<>();
+        clearState();
+
+        final BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        final BlockingQueue<String> lines = stdout;
+        Thread readerThread = new Thread(() -> {
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+            } catch (IOException e) {
+                // the process was destroyed
+            }
+            lines.add(END_OF_STREAM);
+        }, "SmtSolverSession-stdout");
+        readerThread.setDaemon(true);
+        readerThread.start();
+    }
+
+    private String send(String commands, int hardTimeout)
+            throws IOException, SolverTimeoutException, SolverErrorException {
+        stdin.write(commands);
+        stdin.write("(echo \"" + END_OF_RESPONSE + "\")\n");
+        stdin.flush();
+
+        StringBuilder output = new StringBuilder();
+        long deadline = System.currentTimeMillis() + hardTimeout + GRACE_PERIOD_MILLIS;
+        while (true) {
+            String line;
+            try {
+                line = stdout.poll(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new SolverTimeoutException();
+            }
+            if (line == null) {
+                logger.debug("Solver stopped due to solver timeout");
+                close();
+                throw new SolverTimeoutException();
+            }
+            if (line == END_OF_STREAM) {
+                close();
+                throw new SolverErrorException("Solver process terminated unexpectedly");
+            }
+            if (line.trim().replace("\"", "").equals(END_OF_RESPONSE)) {
+                return output.toString();
+            }
+            output.append(line).append("\n");
+        }
+    }
+
+    private void clearState() {
+        options.clear();
+        scopes.clear();
+        declarations.clear();
+        declarationScopes.clear();
+    }
+
+    /**
+     * Terminates the solver process, if any
+     */
+    public synchronized void close() {
+        if (process != null) {
+            process.destroy();
+            process = null;
+            stdin = null;
+            stdout = null;
+        }
+        logic = null;
+        clearState();
+    }
+}
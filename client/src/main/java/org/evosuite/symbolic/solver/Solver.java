@@ -70,8 +70,11 @@ public abstract class Solver {
      * @throws SolverErrorException      the solver reported an error after its execution
      */
     public SolverResult solve(Collection<Constraint<?>> constraints) throws SolverTimeoutException, SolverParseException, SolverEmptyQueryException, SolverErrorException, IOException {
-        if (solverCache.hasCachedResult(constraints)) {
-            return solverCache.getCachedResult();
+        // Queries may be solved concurrently (see Properties.DSE_SOLVER_THREADS)
+        synchronized (solverCache) {
+            if (solverCache.hasCachedResult(constraints)) {
+                return solverCache.getCachedResult();
+            }
         }
 
         SolverResult solverResult;
@@ -79,7 +82,9 @@ public abstract class Solver {
             solverResult = executeSolver(constraints);
 
             if (solverResult != null && !solverResult.isUnknown()) {
-                solverCache.saveSolverResult(constraints, solverResult);
+                synchronized (solverCache) {
+                    solverCache.saveSolverResult(constraints, solverResult);
+                }
             }
         } catch (IllegalArgumentException | IOException e) {
             solverResult = null;
@@ -110,7 +115,7 @@ public abstract class Solver {
      * @param variables
      * @return a mapping from variables to their current concrete values.
      */
-    protected static Map<String, Object> getConcreteValues(Set<Variable<?>> variables) {
+    protected static synchronized Map<String, Object> getConcreteValues(Set<Variable<?>> variables) {
 
         Map<String, Object> concrete_values = new HashMap<>();
         for (Variable<?> v : variables) {
@@ -143,7 +148,7 @@ public abstract class Solver {
      * @param variables
      * @param concrete_values
      */
-    protected static void setConcreteValues(Set<Variable<?>> variables, Map<String, Object> concrete_values) {
+    protected static synchronized void setConcreteValues(Set<Variable<?>> variables, Map<String, Object> concrete_values) {
         for (Variable<?> v : variables) {
 
             String var_name = v.getName();
@@ -183,7 +188,17 @@ public abstract class Solver {
         }
     }
 
-    protected static boolean checkSAT(Collection<Constraint<?>> constraints, SolverResult satResult) {
+    /**
+     * Checks that the model of a SAT result satisfies the constraints by
+     * temporarily assigning it to the variables. Synchronized, as the variables
+     * are shared by the queries of one path condition, which may be solved
+     * concurrently.
+     *
+     * @param constraints
+     * @param satResult
+     * @return true iff every constraint evaluates to true under the model
+     */
+    protected static synchronized boolean checkSAT(Collection<Constraint<?>> constraints, SolverResult satResult) {
 
         if (satResult == null) {
             throw new NullPointerException("satResult should be non-null");
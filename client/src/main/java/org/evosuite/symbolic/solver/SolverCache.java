@@ -19,24 +19,84 @@
  */
 package org.evosuite.symbolic.solver;
 
+import org.evosuite.Properties;
 import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.Variable;
+import org.evosuite.symbolic.solver.smt.ExprToSmtVisitor;
+import org.evosuite.symbolic.solver.smt.SmtExpr;
+import org.evosuite.symbolic.solver.smt.SmtExprPrinter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
+/**
+ * Cache of solver results.
+ * <p>
+ * Constraint systems are keyed by a canonical form that does not depend on
+ * the order of the constraints or on the concrete values of the variables, so
+ * that recurring constraint systems are recognised across different paths and
+ * classes. Constraint systems that cannot be canonicalised are keyed by the
+ * constraint collection itself.
+ * <p>
+ * If {@link Properties#DSE_SOLVER_CACHE_FILE} is set, canonical entries are
+ * loaded from this file on first use and written back by {@link #save()}, so
+ * that several client processes and subsequent runs share their results.
+ */
 public final class SolverCache {
 
+    private static final Logger logger = LoggerFactory.getLogger(SolverCache.class);
+
     private static final SolverCache instance = new SolverCache();
     private static final String CONTRAINT_NOT_CACHED_EXCEPTION_MESSAGE = "The constraint is not cached!";
     private static final String SOLVER_RESULT_CANNOT_BE_NULL_EXCEPTION_MESSAGE = "Unable to save solver result as its null.";
 
     private int number_of_hits = 0;
     private int number_of_accesses = 0;
+    private int number_of_persisted_hits = 0;
+    private int number_of_evictions = 0;
     private int cached_sat_result_count = 0;
     private int cached_unsat_result_count = 0;
     private boolean valid_cached_solution = false;
+    private boolean loaded = false;
+
+    /**
+     * Results by canonical key or by constraint collection, in access order
+     */
+    private final LinkedHashMap<Object, SolverResult> cached_solver_results = new LinkedHashMap<Object, SolverResult>(16, 0.75f, true) {
+        private static final long serialVersionUID = -2787612328546826094L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, SolverResult> eldest) {
+            if (size() > Properties.DSE_SOLVER_CACHE_SIZE) {
+                number_of_evictions++;
+                persisted_keys.remove(eldest.getKey());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * Keys of the results that were read from the cache file
+     */
+    private final Set<Object> persisted_keys = new HashSet<>();
 
-    private final HashMap<Collection<Constraint<?>>, SolverResult> cached_solver_results = new HashMap<>();
     private SolverResult cached_solution = null;
 
     public int getNumberOfUNSATs() {
@@ -47,6 +107,18 @@ public final class SolverCache {
         return cached_sat_result_count;
     }
 
+    public int getNumberOfPersistedHits() {
+        return number_of_persisted_hits;
+    }
+
+    public int getNumberOfEvictions() {
+        return number_of_evictions;
+    }
+
+    public int size() {
+        return cached_solver_results.size();
+    }
+
     private SolverCache() {
         /* empty constructor */
     }
@@ -55,23 +127,54 @@ public final class SolverCache {
         return instance;
     }
 
-    private void addUNSAT(Collection<Constraint<?>> unsat_constraints, SolverResult unsatResult) {
-        cached_solver_results.put(unsat_constraints, unsatResult);
+    /**
+     * Forget all cached results and statistics. The cache file is read again
+     * on the next access.
+     */
+    public void clear() {
+        cached_solver_results.clear();
+        persisted_keys.clear();
+        number_of_hits = 0;
+        number_of_accesses = 0;
+        number_of_persisted_hits = 0;
+        number_of_evictions = 0;
+        cached_sat_result_count = 0;
+        cached_unsat_result_count = 0;
+        valid_cached_solution = false;
+        cached_solution = null;
+        loaded = false;
+    }
+
+    private void addUNSAT(Object key, SolverResult unsatResult) {
+        cached_solver_results.put(key, unsatResult);
         cached_unsat_result_count++;
     }
 
-    private void addSAT(Collection<Constraint<?>> sat_constraints, SolverResult satResult) {
-        cached_solver_results.put(sat_constraints, satResult);
+    private void addSAT(Object key, SolverResult satResult) {
+        cached_solver_results.put(key, satResult);
         cached_sat_result_count++;
     }
 
     public boolean hasCachedResult(Collection<Constraint<?>> constraints) {
+        loadIfNeeded();
         number_of_accesses++;
 
-        if (this.cached_solver_results.containsKey(constraints)) {
+        Object key = getKey(constraints);
+        SolverResult result = this.cached_solver_results.get(key);
+
+        // A model found for an equivalent constraint system may still
+        // violate constraints that were approximated by their concrete values
+        if (result != null && key instanceof String && result.isSAT() && !isModelValid(constraints, result)) {
+            result = null;
+        }
+
+        if (result != null) {
             valid_cached_solution = true;
-            cached_solution = this.cached_solver_results.get(constraints);
+            cached_solution = result;
             number_of_hits++;
+            if (persisted_keys.contains(key)) {
+                number_of_persisted_hits++;
+            }
             return true;
         } else {
             valid_cached_solution = false;
@@ -80,6 +183,9 @@ public final class SolverCache {
     }
 
     public double getHitRate() {
+        if (this.number_of_accesses == 0) {
+            return 0.0;
+        }
         return (double) this.number_of_hits / (double) this.number_of_accesses;
     }
 
@@ -109,11 +215,148 @@ public final class SolverCache {
             throw new IllegalArgumentException(SOLVER_RESULT_CANNOT_BE_NULL_EXCEPTION_MESSAGE);
         }
 
+        Object key = getKey(constraints);
+        persisted_keys.remove(key);
         if (solverResult.isUNSAT()) {
-            addUNSAT(constraints, solverResult);
+            addUNSAT(key, solverResult);
         } else {
-            addSAT(constraints, solverResult);
+            addSAT(key, solverResult);
+        }
+    }
+
+    /**
+     * Write all canonical entries to {@link Properties#DSE_SOLVER_CACHE_FILE}.
+     * Entries written by other processes in the meantime are merged, with
+     * the results of this process taking precedence.
+     */
+    public void save() {
+        if (Properties.DSE_SOLVER_CACHE_FILE == null || Properties.DSE_SOLVER_CACHE_FILE.isEmpty()) {
+            return;
+        }
+
+        File file = new File(Properties.DSE_SOLVER_CACHE_FILE);
+        LinkedHashMap<String, SolverResult> entries = readEntries(file);
+        for (Map.Entry<Object, SolverResult> entry : cached_solver_results.entrySet()) {
+            if (entry.getKey() instanceof String) {
+                entries.remove(entry.getKey());
+                entries.put((String) entry.getKey(), entry.getValue());
+            }
+        }
+
+        // Keep the most recently used entries
+        int excess = entries.size() - Properties.DSE_SOLVER_CACHE_SIZE;
+        if (excess > 0) {
+            new ArrayList<>(entries.keySet()).subList(0, excess).forEach(entries::remove);
+        }
+
+        File tmp = null;
+        try {
+            File dir = file.getAbsoluteFile().getParentFile();
+            if (dir != null && !dir.exists() && !dir.mkdirs()) {
+                throw new IOException("Cannot create directory " + dir);
+            }
+            tmp = File.createTempFile(file.getName(), ".tmp", dir);
+            try (OutputStream out = Files.newOutputStream(tmp.toPath());
+                 ObjectOutputStream objectOut = new ObjectOutputStream(out)) {
+                objectOut.writeObject(entries);
+            }
+            // Readers in other processes either see the old or the new file
+            try {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            logger.debug("Saved {} solver results to {}", entries.size(), file);
+        } catch (IOException e) {
+            logger.warn("Could not save solver cache to " + file + ": " + e.getMessage());
+            if (tmp != null) {
+                tmp.delete();
+            }
+        }
+    }
+
+    private void loadIfNeeded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+
+        if (Properties.DSE_SOLVER_CACHE_FILE == null || Properties.DSE_SOLVER_CACHE_FILE.isEmpty()) {
+            return;
+        }
+
+        LinkedHashMap<String, SolverResult> entries = readEntries(new File(Properties.DSE_SOLVER_CACHE_FILE));
+        for (Map.Entry<String, SolverResult> entry : entries.entrySet()) {
+            if (!cached_solver_results.containsKey(entry.getKey())) {
+                cached_solver_results.put(entry.getKey(), entry.getValue());
+                persisted_keys.add(entry.getKey());
+            }
+        }
+        logger.debug("Loaded {} solver results from {}", entries.size(), Properties.DSE_SOLVER_CACHE_FILE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LinkedHashMap<String, SolverResult> readEntries(File file) {
+        if (!file.exists()) {
+            return new LinkedHashMap<>();
+        }
+        try (InputStream in = Files.newInputStream(file.toPath());
+             ObjectInputStream objectIn = new ObjectInputStream(in)) {
+            return (LinkedHashMap<String, SolverResult>) objectIn.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            logger.warn("Could not read solver cache from " + file + ": " + e.getMessage());
+            return new LinkedHashMap<>();
+        }
+    }
+
+    /**
+     * The key is computed from the current content of the constraints, and
+     * never refers to the given collection, as callers may modify it later on
+     */
+    private static Object getKey(Collection<Constraint<?>> constraints) {
+        String canonicalKey = getCanonicalKey(constraints);
+        return canonicalKey == null ? new ArrayList<>(constraints) : canonicalKey;
+    }
+
+    private static boolean isModelValid(Collection<Constraint<?>> constraints, SolverResult result) {
+        try {
+            return Solver.checkSAT(constraints, result);
+        } catch (RuntimeException e) {
+            // e.g. the model assigns a value of a different type
+            return false;
+        }
+    }
+
+    /**
+     * Returns a key that is identical for constraint systems that only differ
+     * in the order of their constraints or in the concrete values of their
+     * variables.
+     *
+     * @param constraints
+     * @return the canonical key, or null if some expression has no SMT
+     * representation
+     */
+    static String getCanonicalKey(Collection<Constraint<?>> constraints) {
+        ExprToSmtVisitor exprVisitor = new ExprToSmtVisitor();
+        SmtExprPrinter printer = new SmtExprPrinter();
+        Set<String> lines = new TreeSet<>();
+        try {
+            for (Constraint<?> constraint : constraints) {
+                SmtExpr left = constraint.getLeftOperand().accept(exprVisitor, null);
+                SmtExpr right = constraint.getRightOperand().accept(exprVisitor, null);
+                if (left == null || right == null) {
+                    return null;
+                }
+                lines.add(constraint.getClass().getSimpleName() + " " + constraint.getComparator() + " "
+                        + left.accept(printer, null) + " " + right.accept(printer, null));
+                for (Variable<?> variable : constraint.getVariables()) {
+                    lines.add("declare " + variable.getName() + " " + variable.getClass().getSimpleName());
+                }
+            }
+        } catch (RuntimeException e) {
+            return null;
         }
+        return String.join("\n", lines);
     }
 
 }
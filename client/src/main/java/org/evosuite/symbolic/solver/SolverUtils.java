@@ -22,7 +22,6 @@ package org.evosuite.symbolic.solver;
 import org.evosuite.symbolic.BranchCondition;
 import org.evosuite.symbolic.PathCondition;
 import org.evosuite.symbolic.expr.Constraint;
-import org.evosuite.symbolic.expr.Expression;
 import org.evosuite.symbolic.expr.Variable;
 import org.evosuite.symbolic.expr.bv.IntegerConstant;
 import org.evosuite.symbolic.expr.bv.IntegerVariable;
@@ -157,7 +156,11 @@ public abstract class SolverUtils {
 
     /**
      * Apply cone of influence reduction to constraints with respect to the last
-     * constraint in the list
+     * constraint in the list: only the constraints that are transitively
+     * connected to it through shared variables are kept (in their original
+     * order). Constraints in other independent components are already
+     * satisfied by the current concrete values, which the solution is applied
+     * on top of, so they need not be sent to the solver.
      *
      * @param constraints
      * @return
@@ -165,48 +168,43 @@ public abstract class SolverUtils {
     private static List<Constraint<?>> reduce(List<Constraint<?>> constraints) {
 
         Constraint<?> target = constraints.get(constraints.size() - 1);
-        Set<Variable<?>> dependencies = getVariables(target);
 
         LinkedList<Constraint<?>> coi = new LinkedList<>();
-        if (dependencies.size() <= 0)
+        if (target.getVariables().isEmpty())
             return coi;
 
-        coi.add(target);
+        Map<Variable<?>, List<Integer>> occurrences = new HashMap<>();
+        for (int i = 0; i < constraints.size(); i++) {
+            for (Variable<?> var : constraints.get(i).getVariables()) {
+                occurrences.computeIfAbsent(var, v -> new ArrayList<>()).add(i);
+            }
+        }
+
+        boolean[] inCone = new boolean[constraints.size()];
+        inCone[constraints.size() - 1] = true;
+        Set<Variable<?>> dependencies = new HashSet<>(target.getVariables());
+        Deque<Variable<?>> worklist = new ArrayDeque<>(dependencies);
 
-        for (int i = constraints.size() - 2; i >= 0; i--) {
-            Constraint<?> constraint = constraints.get(i);
-            Set<Variable<?>> variables = getVariables(constraint);
-            for (Variable<?> var : dependencies) {
-                if (variables.contains(var)) {
-                    dependencies.addAll(variables);
-                    coi.addFirst(constraint);
-                    break;
+        while (!worklist.isEmpty()) {
+            Variable<?> var = worklist.poll();
+            for (int i : occurrences.get(var)) {
+                if (inCone[i]) {
+                    continue;
+                }
+                inCone[i] = true;
+                for (Variable<?> other : constraints.get(i).getVariables()) {
+                    if (dependencies.add(other)) {
+                        worklist.add(other);
+                    }
                 }
             }
         }
-        return coi;
-    }
-
-    /**
-     * Determine the set of variable referenced by this constraint
-     *
-     * @param constraint
-     * @return
-     */
-    private static Set<Variable<?>> getVariables(Constraint<?> constraint) {
-        Set<Variable<?>> variables = new HashSet<>();
-        getVariables(constraint.getLeftOperand(), variables);
-        getVariables(constraint.getRightOperand(), variables);
-        return variables;
-    }
 
-    /**
-     * Recursively determine constraints in expression
-     *
-     * @param expr      a {@link org.evosuite.symbolic.expr.Expression} object.
-     * @param variables a {@link java.util.Set} object.
-     */
-    private static void getVariables(Expression<?> expr, Set<Variable<?>> variables) {
-        variables.addAll(expr.getVariables());
+        for (int i = 0; i < constraints.size(); i++) {
+            if (inCone[i]) {
+                coi.add(constraints.get(i));
+            }
+        }
+        return coi;
     }
 }
\ No newline at end of file
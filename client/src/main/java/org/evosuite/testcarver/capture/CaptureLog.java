@@ -20,16 +20,21 @@
 package org.evosuite.testcarver.capture;
 
 import com.thoughtworks.xstream.XStream;
+import org.apache.commons.lang3.ClassUtils;
 import org.evosuite.PackageInfo;
 import org.evosuite.testcarver.instrument.TransformerUtil;
 import org.objectweb.asm.Type;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 public final class CaptureLog implements Cloneable {
@@ -38,6 +43,12 @@ public final class CaptureLog implements Cloneable {
 
     private static final Logger logger = LoggerFactory.getLogger(CaptureLog.class);
 
+    /**
+     * XStream is expensive to set up but thread-safe once configured, so all
+     * logs (and their clones) share a single instance
+     */
+    private static final XStream xstream = new XStream();
+
     public static final Object[] NO_ARGS = new Object[0];
     public static final String OBSERVED_INIT = "<init>";
     public static final String PLAIN_INIT = CaptureLog.class.getName() + ".PLAIN";
@@ -111,11 +122,11 @@ public final class CaptureLog implements Cloneable {
      * Would be better to have a single list, with object
      * containing the different fields
      */
-    private final List<Integer> oids;
-    private final List<Integer> oidInitRecNo;
+    private final IntList oids;
+    private final IntList oidInitRecNo;
     private final List<String> oidClassNames;
-    private final List<Integer> oidFirstInits;
-    private final List<Integer> oidDependencies;
+    private final IntList oidFirstInits;
+    private final IntList oidDependencies;
 
     /**
      * captureId -> field name
@@ -127,31 +138,27 @@ public final class CaptureLog implements Cloneable {
      */
     private final Map<Integer, Integer> oidRecMapping;
 
-    private final XStream xstream;
-
     /**
      * Main constructor
      */
     public CaptureLog() {
-        this.objectIds = new ArrayList<>();
+        this.objectIds = new IntList();
         this.methodNames = new ArrayList<>();
         this.params = new ArrayList<>();
-        this.captureIds = new ArrayList<>();
+        this.captureIds = new IntList();
         this.returnValues = new ArrayList<>();
         this.descList = new ArrayList<>();
 
         this.oidRecMapping = new LinkedHashMap<>();
-        this.oidInitRecNo = new ArrayList<>();
+        this.oidInitRecNo = new IntList();
         this.oidClassNames = new ArrayList<>();
-        this.oids = new ArrayList<>();
-        this.oidFirstInits = new ArrayList<>();
-        this.oidDependencies = new ArrayList<>();
+        this.oids = new IntList();
+        this.oidFirstInits = new IntList();
+        this.oidDependencies = new IntList();
 
         this.isStaticCallList = new ArrayList<>();
 
         this.oidNamesOfAccessedFields = new LinkedHashMap<>();
-
-        this.xstream = new XStream();
     }
 
     public String getNameOfAccessedFields(final int captureId) {
@@ -621,13 +628,14 @@ public final class CaptureLog implements Cloneable {
 
                     // we serialize and deserialize param in order to get a 'cloned' instance of param
                     // -> this approach is not very efficient but we can always clone an object without the
-                    //    the need of the Cloneable interface
+                    //    the need of the Cloneable interface. The XML is the snapshot of the clone as well,
+                    //    so it is only computed once
                     try {
                         String xml = xstream.toXML(param);
                         param = xstream.fromXML(xml);
                         paramOID = System.identityHashCode(param);
 
-                        logUnobservedInitStmt(param);
+                        logUnobservedInitStmt(param, xml);
                     } catch (final Exception e) {
                         logger.info("an error occurred while serializing and deserializing {} -> is handled as NULL param",
                                 param, e);
@@ -798,6 +806,10 @@ public final class CaptureLog implements Cloneable {
     }
 
     private void logUnobservedInitStmt(final Object subject) {
+        logUnobservedInitStmt(subject, null);
+    }
+
+    private void logUnobservedInitStmt(final Object subject, final String xml) {
         final int subjectOID = System.identityHashCode(subject);
         if (!this.oidRecMapping.containsKey(subjectOID)) {
             this.updateInfoTable(subjectOID, subject, true);
@@ -818,7 +830,7 @@ public final class CaptureLog implements Cloneable {
             //
             //					this.bout.reset();
             // FIXME
-            this.params.add(new Object[]{this.xstream.toXML(subject)});
+            this.params.add(new Object[]{xml != null ? xml : xstream.toXML(subject)});
         } catch (final Exception e) {
             logger.info("an error occurred while serializing param '{}' -> adding null as param instead",
                     subject, e);
@@ -834,6 +846,269 @@ public final class CaptureLog implements Cloneable {
         this.logEnd(PSEUDO_CAPTURE_ID, subject, RETURN_TYPE_VOID);
     }
 
+    //=============   binary format ===================================================
+
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_VOID = 1;
+    private static final byte VALUE_INTEGER = 2;
+    private static final byte VALUE_LONG = 3;
+    private static final byte VALUE_SHORT = 4;
+    private static final byte VALUE_BYTE = 5;
+    private static final byte VALUE_BOOLEAN = 6;
+    private static final byte VALUE_CHARACTER = 7;
+    private static final byte VALUE_FLOAT = 8;
+    private static final byte VALUE_DOUBLE = 9;
+    private static final byte VALUE_STRING = 10;
+    private static final byte VALUE_CLASS = 11;
+    private static final byte VALUE_XML = 12;
+
+    /**
+     * Writes this log in the binary format read by {@link #read(DataInputStream)}.
+     * The int columns are written as they are, strings that repeat (method names,
+     * descriptors, class names) are written once and referred to by index, and
+     * parameters and return values are tagged by their type. Only values of types
+     * the capturer does not create itself fall back to XStream XML.
+     *
+     * @param out the stream to write to
+     * @throws IOException if writing fails
+     */
+    void write(final DataOutputStream out) throws IOException {
+        final Map<String, Integer> strings = new HashMap<>();
+
+        final int numRecords = objectIds.size();
+        out.writeInt(numRecords);
+        writeInts(out, objectIds);
+        writeInts(out, captureIds);
+        for (int i = 0; i < numRecords; i++) {
+            writeSharedString(out, methodNames.get(i), strings);
+            writeSharedString(out, descList.get(i), strings);
+            out.writeBoolean(isStaticCallList.get(i));
+
+            final Object[] recordParams = params.get(i);
+            out.writeInt(recordParams.length);
+            for (Object param : recordParams) {
+                writeValue(out, param);
+            }
+            writeValue(out, returnValues.get(i));
+        }
+
+        out.writeInt(oids.size());
+        writeInts(out, oids);
+        writeInts(out, oidInitRecNo);
+        writeInts(out, oidFirstInits);
+        writeInts(out, oidDependencies);
+        for (String className : oidClassNames) {
+            writeSharedString(out, className, strings);
+        }
+
+        out.writeInt(oidRecMapping.size());
+        for (Map.Entry<Integer, Integer> entry : oidRecMapping.entrySet()) {
+            out.writeInt(entry.getKey());
+            out.writeInt(entry.getValue());
+        }
+
+        out.writeInt(oidNamesOfAccessedFields.size());
+        for (Map.Entry<Integer, String> entry : oidNamesOfAccessedFields.entrySet()) {
+            out.writeInt(entry.getKey());
+            writeSharedString(out, entry.getValue(), strings);
+        }
+    }
+
+    /**
+     * Reads a log written by {@link #write(DataOutputStream)}
+     *
+     * @param in the stream to read from
+     * @return the log
+     * @throws IOException if reading fails or the content is not a valid log
+     */
+    static CaptureLog read(final DataInputStream in) throws IOException {
+        final CaptureLog log = new CaptureLog();
+        final List<String> strings = new ArrayList<>();
+
+        final int numRecords = in.readInt();
+        readInts(in, log.objectIds, numRecords);
+        readInts(in, log.captureIds, numRecords);
+        for (int i = 0; i < numRecords; i++) {
+            log.methodNames.add(readSharedString(in, strings));
+            log.descList.add(readSharedString(in, strings));
+            log.isStaticCallList.add(in.readBoolean());
+
+            final int numParams = in.readInt();
+            final Object[] recordParams = numParams == 0 ? NO_ARGS : new Object[numParams];
+            for (int j = 0; j < numParams; j++) {
+                recordParams[j] = readValue(in);
+            }
+            log.params.add(recordParams);
+            log.returnValues.add(readValue(in));
+        }
+
+        final int numOids = in.readInt();
+        readInts(in, log.oids, numOids);
+        readInts(in, log.oidInitRecNo, numOids);
+        readInts(in, log.oidFirstInits, numOids);
+        readInts(in, log.oidDependencies, numOids);
+        for (int i = 0; i < numOids; i++) {
+            log.oidClassNames.add(readSharedString(in, strings));
+        }
+
+        final int numMappings = in.readInt();
+        for (int i = 0; i < numMappings; i++) {
+            log.oidRecMapping.put(in.readInt(), in.readInt());
+        }
+
+        final int numAccessedFields = in.readInt();
+        for (int i = 0; i < numAccessedFields; i++) {
+            log.oidNamesOfAccessedFields.put(in.readInt(), readSharedString(in, strings));
+        }
+
+        return log;
+    }
+
+    private static void writeInts(final DataOutputStream out, final List<Integer> column) throws IOException {
+        final IntList ints = (IntList) column;
+        for (int i = 0; i < ints.size(); i++) {
+            out.writeInt(ints.getInt(i));
+        }
+    }
+
+    private static void readInts(final DataInputStream in, final List<Integer> column, final int size) throws IOException {
+        final IntList ints = (IntList) column;
+        for (int i = 0; i < size; i++) {
+            ints.addInt(in.readInt());
+        }
+    }
+
+    private static void writeSharedString(final DataOutputStream out, final String s,
+                                          final Map<String, Integer> strings) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final Integer index = strings.get(s);
+        if (index != null) {
+            out.writeInt(index);
+        } else {
+            out.writeInt(strings.size());
+            strings.put(s, strings.size());
+            writeString(out, s);
+        }
+    }
+
+    private static String readSharedString(final DataInputStream in, final List<String> strings) throws IOException {
+        final int index = in.readInt();
+        if (index == -1) {
+            return null;
+        }
+        if (index == strings.size()) {
+            strings.add(readString(in));
+        } else if (index < 0 || index > strings.size()) {
+            throw new IOException("Invalid string reference " + index);
+        }
+        return strings.get(index);
+    }
+
+    // DataOutputStream.writeUTF is limited to 64KB, which XML snapshots easily exceed
+    private static void writeString(final DataOutputStream out, final String s) throws IOException {
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid string length " + length);
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeValue(final DataOutputStream out, final Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(VALUE_NULL);
+        } else if (value == RETURN_TYPE_VOID) {
+            out.writeByte(VALUE_VOID);
+        } else if (value instanceof Integer) {
+            out.writeByte(VALUE_INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(VALUE_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Short) {
+            out.writeByte(VALUE_SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(VALUE_BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(VALUE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Character) {
+            out.writeByte(VALUE_CHARACTER);
+            out.writeChar((Character) value);
+        } else if (value instanceof Float) {
+            out.writeByte(VALUE_FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            out.writeByte(VALUE_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof String) {
+            out.writeByte(VALUE_STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Class) {
+            out.writeByte(VALUE_CLASS);
+            writeString(out, ((Class<?>) value).getName());
+        } else {
+            out.writeByte(VALUE_XML);
+            writeString(out, xstream.toXML(value));
+        }
+    }
+
+    private static Object readValue(final DataInputStream in) throws IOException {
+        final byte tag = in.readByte();
+        switch (tag) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_VOID:
+                return RETURN_TYPE_VOID;
+            case VALUE_INTEGER:
+                return in.readInt();
+            case VALUE_LONG:
+                return in.readLong();
+            case VALUE_SHORT:
+                return in.readShort();
+            case VALUE_BYTE:
+                return in.readByte();
+            case VALUE_BOOLEAN:
+                return in.readBoolean();
+            case VALUE_CHARACTER:
+                return in.readChar();
+            case VALUE_FLOAT:
+                return in.readFloat();
+            case VALUE_DOUBLE:
+                return in.readDouble();
+            case VALUE_STRING:
+                return readString(in);
+            case VALUE_CLASS:
+                final String className = readString(in);
+                try {
+                    return ClassUtils.getClass(
+                            Thread.currentThread().getContextClassLoader(), className, false);
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("Cannot load captured class " + className, e);
+                }
+            case VALUE_XML:
+                try {
+                    return xstream.fromXML(readString(in));
+                } catch (RuntimeException e) {
+                    throw new IOException("Cannot restore captured value", e);
+                }
+            default:
+                throw new IOException("Invalid value tag " + tag);
+        }
+    }
+
     @Override
     public String toString() {
         final String delimiter = "\t|\t";
@@ -19,13 +19,16 @@
  */
 package org.evosuite.testcarver.capture;
 
-import com.thoughtworks.xstream.XStream;
-import com.thoughtworks.xstream.io.xml.StaxDriver;
 import org.evosuite.TimeController;
 import org.evosuite.testcarver.exception.CapturerException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -41,6 +44,12 @@ public final class Capturer {
 
     public static final String DEFAULT_SAVE_LOC = "captured.log";
 
+    /**
+     * Header of each block of logs written by {@link #save(OutputStream)}
+     */
+    private static final int LOG_FILE_MAGIC = 0x45564341;
+    private static final int LOG_FILE_VERSION = 1;
+
     private static final ArrayList<String[]> classesToBeObserved = new ArrayList<>();
 
     private static final transient Logger logger = LoggerFactory.getLogger(Capturer.class);
@@ -114,24 +123,63 @@ public final class Capturer {
 		 */
     }
 
+    /**
+     * Writes the captured logs as one block of the binary capture format. A block
+     * only consists of a header and the logs, so saving to a stream opened in
+     * append mode adds to the logs already stored in a file.
+     *
+     * @param out the stream to write to, which is closed afterwards
+     * @throws IOException if writing fails
+     */
     public static void save(final OutputStream out) throws IOException {
         if (out == null) {
             throw new NullPointerException("given OutputStream must not be null");
         }
 
-        final XStream xstream = new XStream();
-        xstream.toXML(logs, out);
-        out.close();
+        final DataOutputStream dout = new DataOutputStream(new BufferedOutputStream(out));
+        dout.writeInt(LOG_FILE_MAGIC);
+        dout.writeInt(LOG_FILE_VERSION);
+        dout.writeInt(logs.size());
+        for (CaptureLog log : logs) {
+            log.write(dout);
+        }
+        dout.close();
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Adds all the logs of all the blocks written by {@link #save(OutputStream)}
+     *
+     * @param in the stream to read from
+     */
     public static void load(final InputStream in) {
         if (in == null) {
             throw new NullPointerException("given InputStream must not be null");
         }
 
-        final XStream xstream = new XStream(new StaxDriver());
-        logs.addAll((ArrayList<CaptureLog>) xstream.fromXML(in));
+        final DataInputStream din = new DataInputStream(new BufferedInputStream(in));
+        try {
+            while (true) {
+                final int magic;
+                try {
+                    magic = din.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (magic != LOG_FILE_MAGIC) {
+                    throw new CapturerException("given InputStream does not contain capture logs");
+                }
+                final int version = din.readInt();
+                if (version != LOG_FILE_VERSION) {
+                    throw new CapturerException("unsupported capture log version " + version);
+                }
+                final int numLogs = din.readInt();
+                for (int i = 0; i < numLogs; i++) {
+                    logs.add(CaptureLog.read(din));
+                }
+            }
+        } catch (IOException e) {
+            throw new CapturerException("an error occurred while loading the capture logs", e);
+        }
     }
 
     public static void clear() {
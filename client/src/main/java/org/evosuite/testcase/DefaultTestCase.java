@@ -152,7 +152,7 @@ public class DefaultTestCase implements TestCase, Serializable {
      * {@inheritDoc}
      */
     @Override
-    public void addCoveredGoal(TestFitnessFunction goal) {
+    public synchronized void addCoveredGoal(TestFitnessFunction goal) {
         coveredGoals.add(goal);
         // TODO: somehow adds the same goal more than once (fitnessfunction.equals()?)
     }
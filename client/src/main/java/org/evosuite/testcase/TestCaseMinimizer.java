@@ -128,6 +128,10 @@ public class TestCaseMinimizer {
             return;
         }
 
+        if (!removeBlocks(c)) {
+            return;
+        }
+
         boolean changed = true;
 
         while (changed) {
@@ -196,6 +200,69 @@ public class TestCaseMinimizer {
 
     }
 
+    /**
+     * Delta debugging pass: try to remove whole blocks of consecutive
+     * statements, together with all the statements depending on them.
+     * Blocks are halved whenever no block can be removed, so large
+     * irrelevant parts of a long test are dropped with few executions. The
+     * statement-wise pass in {@link #minimize(TestChromosome)} then only
+     * needs to work on what is left.
+     *
+     * @param c the test to minimize
+     * @return false if the timeout was reached
+     */
+    private boolean removeBlocks(TestChromosome c) {
+        int granularity = 2;
+
+        while (granularity <= c.test.size() / 2) {
+            int size = c.test.size();
+            boolean reduced = false;
+
+            // Later blocks have fewer dependent statements, so try them first
+            for (int block = granularity - 1; block >= 0; block--) {
+                if (isTimeoutReached()) {
+                    logger.debug("Timeout reached before minimizing block {}", block);
+                    return false;
+                }
+
+                int from = block * size / granularity;
+                int to = (block + 1) * size / granularity;
+                List<Integer> positions = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    positions.add(i);
+                }
+
+                logger.debug("Deleting statements {} to {}", from, to - 1);
+                TestChromosome copy = c.clone();
+                TestFactory.getInstance().deleteStatements(c.test, positions);
+                c.setChanged(true);
+
+                if (isTimeoutReached()) {
+                    logger.debug("Keeping original version due to timeout");
+                    restoreTestCase(c, copy);
+                    return false;
+                }
+
+                if (!isWorse(fitnessFunction, copy, c)) {
+                    logger.debug("Keeping shorter version");
+                    reduced = true;
+                    break;
+                } else {
+                    logger.debug("Keeping original version");
+                    restoreTestCase(c, copy);
+                }
+            }
+
+            if (reduced) {
+                granularity = Math.max(granularity - 1, 2);
+            } else {
+                granularity *= 2;
+            }
+        }
+
+        return true;
+    }
+
     private static void restoreTestCase(TestChromosome c, TestChromosome copy) {
         c.test = copy.test;
         c.copyCachedResults(copy);
@@ -1651,11 +1651,25 @@ public class TestFactory {
      * @throws ConstructionFailedException
      */
     public boolean deleteStatement(TestCase test, int position) {
+        return deleteStatements(test, Collections.singleton(position));
+    }
+
+    /**
+     * Delete the statements at the given positions from the test case,
+     * together with all the statements that (transitively) depend on them
+     *
+     * @param test
+     * @param positions
+     * @return true if any statement was deleted
+     */
+    public boolean deleteStatements(TestCase test, Collection<Integer> positions) {
 
-        logger.debug("Deleting target statement - {}", position);
+        logger.debug("Deleting target statements - {}", positions);
 
         Set<Integer> toDelete = new LinkedHashSet<>();
-        recursiveDeleteInclusion(test, toDelete, position);
+        for (int position : positions) {
+            recursiveDeleteInclusion(test, toDelete, position);
+        }
 
         List<Integer> pos = new ArrayList<>(toDelete);
         pos.sort(Collections.reverseOrder());
@@ -1665,7 +1679,7 @@ public class TestFactory {
             test.remove(i);
         }
 
-        return true;
+        return !pos.isEmpty();
     }
 
     private void recursiveDeleteInclusion(TestCase test, Set<Integer> toDelete, int position) {
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.Arrays;
+
+/**
+ * Map from branch ids to execution counts, backed by an {@code int[]} so that
+ * updates on the {@code passedBranch} path do not need any boxing.
+ */
+public class BranchCountMap extends DenseIdMap<Integer> {
+
+    private int[] values;
+
+    public BranchCountMap() {
+        super();
+        values = new int[0];
+    }
+
+    private BranchCountMap(int[] ids, int[] values) {
+        super(ids);
+        this.values = values;
+    }
+
+    @Override
+    protected void growValues(int capacity) {
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    protected void resetValue(int slot) {
+        values[slot] = 0;
+    }
+
+    @Override
+    protected void moveValue(int from, int to) {
+        values[to] = values[from];
+        values[from] = 0;
+    }
+
+    @Override
+    protected Integer boxedValue(int slot) {
+        return values[slot];
+    }
+
+    @Override
+    protected void setBoxedValue(int id, Integer value) {
+        values[id] = value;
+    }
+
+    /**
+     * Increment the count for the given id, starting at 1
+     */
+    public void increment(int id) {
+        touch(id);
+        values[id]++;
+    }
+
+    /**
+     * @return a compact copy of this map, with arrays only as large as the
+     * number of entries
+     */
+    public BranchCountMap compactCopy() {
+        int[] ids = sortedIds();
+        int[] compact = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            compact[i] = values[slotOf(ids[i])];
+        }
+        return new BranchCountMap(ids, compact);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.Arrays;
+
+/**
+ * Map from branch ids to distances, backed by a {@code double[]} so that
+ * updates on the {@code passedBranch} path do not need any boxing.
+ */
+public class BranchDistanceMap extends DenseIdMap<Double> {
+
+    private double[] values;
+
+    public BranchDistanceMap() {
+        super();
+        values = new double[0];
+    }
+
+    private BranchDistanceMap(int[] ids, double[] values) {
+        super(ids);
+        this.values = values;
+    }
+
+    @Override
+    protected void growValues(int capacity) {
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    protected void resetValue(int slot) {
+        values[slot] = 0.0;
+    }
+
+    @Override
+    protected void moveValue(int from, int to) {
+        values[to] = values[from];
+        values[from] = 0.0;
+    }
+
+    @Override
+    protected Double boxedValue(int slot) {
+        return values[slot];
+    }
+
+    @Override
+    protected void setBoxedValue(int id, Double value) {
+        values[id] = value;
+    }
+
+    /**
+     * Primitive version of {@link #get(Object)}
+     *
+     * @param id a branch id that is contained in the map
+     * @return the distance stored for the id
+     */
+    public double getDistance(int id) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            throw new IllegalArgumentException("No distance for id " + id);
+        }
+        return values[slot];
+    }
+
+    /**
+     * Keep the minimum of the stored and the given distance
+     */
+    public void putMin(int id, double distance) {
+        if (touch(id) || distance < values[id]) {
+            values[id] = distance;
+        }
+    }
+
+    /**
+     * Add the given distance to the stored one
+     */
+    public void add(int id, double distance) {
+        if (touch(id)) {
+            values[id] = distance;
+        } else {
+            values[id] += distance;
+        }
+    }
+
+    /**
+     * @return a compact copy of this map, with arrays only as large as the
+     * number of entries
+     */
+    public BranchDistanceMap compactCopy() {
+        int[] ids = sortedIds();
+        double[] compact = new double[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            compact[i] = values[slotOf(ids[i])];
+        }
+        return new BranchDistanceMap(ids, compact);
+    }
+}
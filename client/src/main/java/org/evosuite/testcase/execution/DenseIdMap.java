@@ -0,0 +1,335 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Base class for maps whose keys are small, dense, non-negative ids (e.g.,
+ * the ids assigned by the {@link org.evosuite.coverage.branch.BranchPool}).
+ * Values are stored by subclasses in primitive arrays indexed by id, and the
+ * ids that have been set are kept in a list of touched indices, such that
+ * {@link #clear()} only resets the slots that were actually written, and the
+ * arrays can be reused for the next execution.
+ *
+ * <p>
+ * As the arrays are as large as the largest id, maps that are kept after the
+ * execution (e.g., in the trace of an execution result) are compact copies:
+ * these only store the entries, sorted by id, in arrays as large as the map.
+ * Slots are then the positions of the ids in this sorted list. A compact map
+ * switches back to arrays indexed by id as soon as it is modified.
+ *
+ * <p>
+ * The map is meant to be written by a single thread (the test execution
+ * thread), and only read afterwards. It is iterated in ascending key order.
+ *
+ * @param <V> boxed type of the values
+ */
+public abstract class DenseIdMap<V> extends AbstractMap<Integer, V> {
+
+    private static final int DEFAULT_TOUCHED_CAPACITY = 16;
+
+    /**
+     * Which ids are contained in the map, indexed by id, or null if the map
+     * is compact
+     */
+    private boolean[] present;
+
+    /**
+     * Ids contained in the map. These are sorted if the map is compact.
+     */
+    private int[] touched;
+
+    private int size = 0;
+
+    protected DenseIdMap() {
+        present = new boolean[0];
+        touched = new int[DEFAULT_TOUCHED_CAPACITY];
+    }
+
+    /**
+     * Create a compact map
+     *
+     * @param ids the ids of the entries, in ascending order
+     */
+    protected DenseIdMap(int[] ids) {
+        present = null;
+        touched = ids;
+        size = ids.length;
+    }
+
+    /**
+     * Resize the value array(s) of the subclass to the given capacity,
+     * keeping the values in the slots below it
+     *
+     * @param capacity the new capacity
+     */
+    protected abstract void growValues(int capacity);
+
+    /**
+     * Reset the value stored in the given slot to its default
+     *
+     * @param slot a slot that currently holds a value
+     */
+    protected abstract void resetValue(int slot);
+
+    /**
+     * Move the value stored in one slot to another one, and reset the former
+     */
+    protected abstract void moveValue(int from, int to);
+
+    /**
+     * @param slot a slot that currently holds a value
+     * @return the boxed value stored in the given slot
+     */
+    protected abstract V boxedValue(int slot);
+
+    /**
+     * Store the boxed value for the given id, which has already been
+     * registered with {@link #touch(int)}
+     */
+    protected abstract void setBoxedValue(int id, V value);
+
+    /**
+     * Register the given id as present in the map, growing the arrays if
+     * necessary. Afterwards, the slot of the id is the id itself.
+     *
+     * @param id a non-negative id
+     * @return true if the id was not present before
+     */
+    protected final boolean touch(int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Ids need to be non-negative: " + id);
+        }
+        if (present == null) {
+            inflate();
+        }
+        if (id >= present.length) {
+            int capacity = Math.max(id + 1, present.length * 2);
+            present = Arrays.copyOf(present, capacity);
+            growValues(capacity);
+        }
+        if (present[id]) {
+            return false;
+        }
+        present[id] = true;
+        if (size == touched.length) {
+            touched = Arrays.copyOf(touched, Math.max(DEFAULT_TOUCHED_CAPACITY, size * 2));
+        }
+        touched[size++] = id;
+        return true;
+    }
+
+    /**
+     * Switch from the compact representation to arrays indexed by id
+     */
+    private void inflate() {
+        int capacity = size == 0 ? 0 : touched[size - 1] + 1;
+        present = new boolean[capacity];
+        growValues(capacity);
+        // ids are sorted and distinct, so moving from the last one never overwrites a value still to move
+        for (int i = size - 1; i >= 0; i--) {
+            int id = touched[i];
+            present[id] = true;
+            if (id != i) {
+                moveValue(i, id);
+            }
+        }
+    }
+
+    /**
+     * @return current capacity of the value arrays
+     */
+    protected final int capacity() {
+        return present == null ? size : present.length;
+    }
+
+    /**
+     * @param id the key to look up
+     * @return the slot in which the value of the given id is stored, or -1
+     * if the id is not contained in the map
+     */
+    protected final int slotOf(int id) {
+        if (present == null) {
+            int slot = Arrays.binarySearch(touched, 0, size, id);
+            return slot >= 0 ? slot : -1;
+        }
+        return id >= 0 && id < present.length && present[id] ? id : -1;
+    }
+
+    /**
+     * @return the ids contained in the map, in ascending order
+     */
+    protected final int[] sortedIds() {
+        int[] ids = Arrays.copyOf(touched, size);
+        if (present != null) {
+            Arrays.sort(ids);
+        }
+        return ids;
+    }
+
+    /**
+     * Primitive version of {@link #containsKey(Object)}
+     *
+     * @param id the key to check
+     * @return true if a value has been set for the given id
+     */
+    public final boolean containsId(int id) {
+        return slotOf(id) >= 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsId((Integer) key);
+    }
+
+    @Override
+    public V get(Object key) {
+        if (!(key instanceof Integer)) {
+            return null;
+        }
+        int slot = slotOf((Integer) key);
+        return slot < 0 ? null : boxedValue(slot);
+    }
+
+    @Override
+    public V put(Integer key, V value) {
+        V previous = get(key);
+        touch(key);
+        setBoxedValue(key, value);
+        return previous;
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (!containsKey(key)) {
+            return null;
+        }
+        if (present == null) {
+            inflate();
+        }
+        int id = (Integer) key;
+        V previous = boxedValue(id);
+        for (int i = 0; i < size; i++) {
+            if (touched[i] == id) {
+                System.arraycopy(touched, i + 1, touched, i, size - i - 1);
+                break;
+            }
+        }
+        size--;
+        present[id] = false;
+        resetValue(id);
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove all entries, only resetting the slots that have been written.
+     * The arrays are kept, so that the map can be filled again without
+     * allocating.
+     */
+    @Override
+    public void clear() {
+        if (present == null) {
+            present = new boolean[0];
+            growValues(0);
+            touched = new int[DEFAULT_TOUCHED_CAPACITY];
+            size = 0;
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            present[touched[i]] = false;
+            resetValue(touched[i]);
+        }
+        size = 0;
+    }
+
+    @Override
+    public Set<Entry<Integer, V>> entrySet() {
+        return new AbstractSet<Entry<Integer, V>>() {
+            @Override
+            public Iterator<Entry<Integer, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private class EntryIterator implements Iterator<Entry<Integer, V>> {
+
+        private final int[] keys = sortedIds();
+
+        private int next = 0;
+
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return next < keys.length;
+        }
+
+        @Override
+        public Entry<Integer, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = keys[next++];
+            return new SimpleImmutableEntry<>(last, boxedValue(slotOf(last)));
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            DenseIdMap.this.remove(last);
+            last = -1;
+        }
+    }
+
+    /**
+     * Copy all entries of the given map into this one
+     */
+    @Override
+    public void putAll(Map<? extends Integer, ? extends V> m) {
+        for (Entry<? extends Integer, ? extends V> entry : m.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+}
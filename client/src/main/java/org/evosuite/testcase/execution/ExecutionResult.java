@@ -20,6 +20,7 @@
 package org.evosuite.testcase.execution;
 
 import org.evosuite.assertion.OutputTrace;
+import org.evosuite.coverage.branch.ControlFlowDistanceTable;
 import org.evosuite.coverage.io.input.InputCoverageGoal;
 import org.evosuite.coverage.io.output.OutputCoverageGoal;
 import org.evosuite.coverage.mutation.Mutation;
@@ -112,8 +113,10 @@ public class ExecutionResult implements Cloneable {
 
     private Map<Integer, Set<OutputCoverageGoal>> outputGoals = new LinkedHashMap<>();
 
-    // experiment .. tried to remember intermediately calculated ControlFlowDistances .. no real speed up
-    //	public Map<Branch, ControlFlowDistance> intermediateDistances;
+    /**
+     * Minimal branch distances of each method call in the trace, shared by all branch goals
+     */
+    private ControlFlowDistanceTable controlFlowDistanceTable = null;
 
     /**
      * Default constructor when executing without mutation
@@ -283,6 +286,21 @@ public class ExecutionResult implements Cloneable {
         this.trace = trace;
     }
 
+    /**
+     * Accessor to the minimal branch distances of each method call in the
+     * execution trace. The table is built on first access, and rebuilt if
+     * the trace has changed since.
+     *
+     * @return a {@link org.evosuite.coverage.branch.ControlFlowDistanceTable} object.
+     */
+    public synchronized ControlFlowDistanceTable getControlFlowDistanceTable() {
+        List<MethodCall> calls = trace.getMethodCalls();
+        if (controlFlowDistanceTable == null || !controlFlowDistanceTable.isUpToDate(calls)) {
+            controlFlowDistanceTable = new ControlFlowDistanceTable(calls);
+        }
+        return controlFlowDistanceTable;
+    }
+
     /**
      * Store a new output trace
      *
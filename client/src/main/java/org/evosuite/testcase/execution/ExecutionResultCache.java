@@ -0,0 +1,288 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.evosuite.Properties;
+import org.evosuite.coverage.mutation.MutationObserver;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.statements.PrimitiveStatement;
+import org.evosuite.testcase.statements.Statement;
+import org.evosuite.utils.generic.GenericAccessibleObject;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache of execution results, keyed by the part of a test that was actually
+ * executed. Statements are compared with {@link Statement#same(Statement)}, so
+ * looking up a test does not modify it (as generating its code would do, e.g.
+ * for functional mocks).
+ * <p>
+ * As test execution stops at the first exception (see
+ * {@link Properties#BREAK_ON_EXCEPTION}), a result whose first exception was
+ * raised at position {@code p} only depends on the statements {@code 0..p}.
+ * Any test that shares this prefix would thus produce the same result, no
+ * matter which statements follow. This is the typical situation after a
+ * mutation that changes or appends statements behind the exception. Results
+ * of tests that ran to completion are only reused for tests with exactly the
+ * same code.
+ * <p>
+ * Reusing a result assumes that the executed prefix is deterministic, which
+ * is only the case if the static state of the SUT is restored after each
+ * execution (see {@link Properties#RESET_STATIC_FIELDS}). The cache is
+ * therefore bypassed when static fields are not reset, when a mutant is
+ * active, or when execution observers are registered.
+ */
+public class ExecutionResultCache {
+
+    private static ExecutionResultCache instance = null;
+
+    /**
+     * Cached results by executed prefix, in access order
+     */
+    private final LinkedHashMap<Prefix, CachedResult> results = new LinkedHashMap<Prefix, CachedResult>(16, 0.75f, true) {
+        private static final long serialVersionUID = 4318617406390281525L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Prefix, CachedResult> eldest) {
+            if (size() > Properties.EXECUTION_CACHE_SIZE) {
+                removePrefixLength(eldest.getValue().prefixLength);
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * Number of cached results for each prefix length, so that a lookup only
+     * needs to consider lengths for which there are entries
+     */
+    private final Map<Integer, Integer> prefixLengths = new HashMap<>();
+
+    private int hits = 0;
+
+    private int misses = 0;
+
+    private ExecutionResultCache() {
+    }
+
+    public static synchronized ExecutionResultCache getInstance() {
+        if (instance == null)
+            instance = new ExecutionResultCache();
+
+        return instance;
+    }
+
+    /**
+     * Drop all cached results, e.g. because the SUT has changed
+     */
+    public void clear() {
+        results.clear();
+        prefixLengths.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * Can results currently be cached and reused?
+     *
+     * @return true if the configuration makes test executions repeatable
+     */
+    public boolean isEnabled() {
+        return Properties.EXECUTION_CACHE_SIZE > 0
+                && Properties.BREAK_ON_EXCEPTION
+                && Properties.RESET_STATIC_FIELDS
+                && MutationObserver.activeMutation == -1;
+    }
+
+    /**
+     * Retrieve the result of a previous execution of a test that shares the
+     * executed prefix with the given test
+     *
+     * @param test the test that is about to be executed
+     * @return a copy of the cached result for {@code test}, or null
+     */
+    public ExecutionResult get(TestCase test) {
+        if (!results.isEmpty()) {
+            int hash = 1;
+            for (int i = 0; i < test.size(); i++) {
+                hash = 31 * hash + hashStatement(test.getStatement(i));
+                int length = i + 1;
+                if (!prefixLengths.containsKey(length))
+                    continue;
+
+                CachedResult cached = results.get(new Prefix(test, length, hash));
+                if (cached == null)
+                    continue;
+
+                // A test that ran to completion only matches the complete test
+                if (cached.complete && length != test.size())
+                    continue;
+
+                hits++;
+                return cached.copyFor(test);
+            }
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Remember the result of an execution
+     *
+     * @param result the result of executing {@code result.test}
+     */
+    public void put(ExecutionResult result) {
+        if (result.getTrace() == null || result.hasTimeout())
+            return;
+
+        int length = getPrefixLength(result);
+        if (length > result.test.size())
+            return;
+
+        // the executed test may still be mutated, so the key refers to a copy
+        TestCase copy = result.test.clone();
+        while (copy.size() > length) {
+            copy.remove(copy.size() - 1);
+        }
+        int hash = 1;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + hashStatement(copy.getStatement(i));
+        }
+
+        CachedResult cached = new CachedResult(result, length);
+        if (results.put(new Prefix(copy, length, hash), cached) == null) {
+            prefixLengths.merge(length, 1, Integer::sum);
+        }
+    }
+
+    private void removePrefixLength(int length) {
+        prefixLengths.computeIfPresent(length, (l, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * The number of statements of the test that were relevant for the result
+     */
+    private static int getPrefixLength(ExecutionResult result) {
+        Integer position = result.getFirstPositionOfThrownException();
+        return position == null ? result.test.size() : position + 1;
+    }
+
+    /**
+     * Hash code of a statement that is consistent with
+     * {@link Statement#same(Statement)}, unlike {@link Statement#hashCode()},
+     * which depends on the identity of the variables
+     */
+    private static int hashStatement(Statement statement) {
+        int hash = statement.getClass().hashCode();
+        GenericAccessibleObject<?> accessibleObject = statement.getAccessibleObject();
+        if (accessibleObject != null) {
+            hash = 31 * hash + accessibleObject.getName().hashCode();
+        }
+        if (statement instanceof PrimitiveStatement) {
+            hash = 31 * hash + Objects.hashCode(((PrimitiveStatement<?>) statement).getValue());
+        }
+        return hash;
+    }
+
+    public int getNumberOfHits() {
+        return hits;
+    }
+
+    public int getNumberOfMisses() {
+        return misses;
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    /**
+     * The first statements of a test, which are equal to the ones of another
+     * prefix if these are pairwise the same
+     */
+    private static class Prefix {
+
+        private final TestCase test;
+
+        private final int length;
+
+        private final int hash;
+
+        Prefix(TestCase test, int length, int hash) {
+            this.test = test;
+            this.length = length;
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Prefix))
+                return false;
+            Prefix other = (Prefix) obj;
+            if (length != other.length || hash != other.hash)
+                return false;
+            for (int i = 0; i < length; i++) {
+                if (!test.getStatement(i).same(other.test.getStatement(i)))
+                    return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A copy of an execution result that does not refer to the executed test
+     * any more, as that test may still be mutated after its execution
+     */
+    private static class CachedResult {
+
+        private final ExecutionResult result;
+
+        private final int prefixLength;
+
+        private final boolean complete;
+
+        CachedResult(ExecutionResult original, int prefixLength) {
+            this.result = original.clone();
+            this.result.setTest(null);
+            this.result.setExecutedStatements(original.getExecutedStatements());
+            this.result.setSecurityException(original.hasSecurityException());
+            this.prefixLength = prefixLength;
+            this.complete = original.noThrownExceptions();
+        }
+
+        ExecutionResult copyFor(TestCase test) {
+            ExecutionResult copy = result.clone();
+            copy.setTest(test);
+            copy.setExecutedStatements(result.getExecutedStatements());
+            copy.setSecurityException(result.hasSecurityException());
+            return copy;
+        }
+    }
+}
@@ -41,6 +41,18 @@ import java.util.Map.Entry;
 /**
  * Keep a trace of the program execution
  *
+ * <p>
+ * A trace is only ever written by the thread executing the test (calls from
+ * other threads are filtered out by
+ * {@link ExecutionTracer#isThreadNeqCurrentThread()}), so its collections are
+ * not synchronized. The trace is handed over to the search thread as part of
+ * the {@link ExecutionResult} returned by the execution task, which
+ * establishes the happens-before relation for all data collected here. This
+ * does not hold when the test times out: {@link TestCaseExecutor} then takes
+ * the trace while the test thread may still be running, so a trace of a
+ * timed out test can be incomplete or inconsistent. The static sets below are
+ * shared between traces, and thus remain synchronized.
+ *
  * @author Gordon Fraser
  */
 public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
@@ -191,74 +203,64 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
     private List<BranchEval> branchesTrace = new ArrayList<>();
 
     // Coverage information
-    public Map<String, Map<String, Map<Integer, Integer>>> coverage = Collections
-            .synchronizedMap(new HashMap<>());
+    public Map<String, Map<String, Map<Integer, Integer>>> coverage = new HashMap<>();
 
-    public Map<Integer, Integer> coveredFalse = Collections.synchronizedMap(new HashMap<>());
+    public BranchCountMap coveredFalse = new BranchCountMap();
 
-    public Map<String, Integer> coveredMethods = Collections.synchronizedMap(new HashMap<>());
+    public Map<String, Integer> coveredMethods = new HashMap<>();
 
-    public Map<String, Integer> coveredBranchlessMethods = Collections.synchronizedMap(new HashMap<>());
+    public Map<String, Integer> coveredBranchlessMethods = new HashMap<>();
 
-    public Map<Integer, Integer> coveredPredicates = Collections.synchronizedMap(new HashMap<>());
+    public BranchCountMap coveredPredicates = new BranchCountMap();
 
-    public Map<Integer, Integer> coveredTrue = Collections.synchronizedMap(new HashMap<>());
+    public BranchCountMap coveredTrue = new BranchCountMap();
 
-    public Map<Integer, Integer> coveredDefs = Collections.synchronizedMap(new HashMap<>());
+    public Map<Integer, Integer> coveredDefs = new HashMap<>();
 
-    public Map<Integer, Map<CallContext, Double>> coveredTrueContext = Collections
-            .synchronizedMap(new HashMap<>());
+    public Map<Integer, Map<CallContext, Double>> coveredTrueContext = new HashMap<>();
 
-    public Map<Integer, Map<CallContext, Double>> coveredFalseContext = Collections
-            .synchronizedMap(new HashMap<>());
+    public Map<Integer, Map<CallContext, Double>> coveredFalseContext = new HashMap<>();
 
-    public Map<Integer, Map<CallContext, Integer>> coveredPredicateContext = Collections
-            .synchronizedMap(new HashMap<>());
+    public Map<Integer, Map<CallContext, Integer>> coveredPredicateContext = new HashMap<>();
 
-    public Map<String, Map<CallContext, Integer>> coveredMethodContext = Collections
-            .synchronizedMap(new HashMap<>());
+    public Map<String, Map<CallContext, Integer>> coveredMethodContext = new HashMap<>();
 
     // number of seen Definitions and uses for indexing purposes
     private int duCounter = 0;
     // The last explicitly thrown exception is kept here
     private Throwable explicitException = null;
 
-    public Map<Integer, Double> falseDistances = Collections.synchronizedMap(new HashMap<>());
-    private final Map<Integer, Double> falseDistancesSum = Collections.synchronizedMap(new HashMap<>());
+    public BranchDistanceMap falseDistances = new BranchDistanceMap();
+    private BranchDistanceMap falseDistancesSum = new BranchDistanceMap();
     // finished_calls;
-    public List<MethodCall> finishedCalls = Collections.synchronizedList(new ArrayList<>());
-    public Map<Integer, Object> knownCallerObjects = Collections.synchronizedMap(new HashMap<>());
+    public List<MethodCall> finishedCalls = new ArrayList<>();
+    public Map<Integer, Object> knownCallerObjects = new HashMap<>();
     // to differentiate between different MethodCalls
     private int methodId = 0;
-    public Map<Integer, Double> mutantDistances = Collections.synchronizedMap(new HashMap<>());
+    public Map<Integer, Double> mutantDistances = new HashMap<>();
     // for defuse-coverage it is important to keep track of all the objects that
     // called the ExecutionTracer
     private int objectCounter = 0;
     // for each Variable-Name these maps hold the data for which objectID
     // at which time (duCounter) which Definition or Use was passed
-    public Map<String, HashMap<Integer, HashMap<Integer, Integer>>> passedDefinitions = Collections
-            .synchronizedMap(new HashMap<>());
-    public Map<String, HashMap<Integer, HashMap<Integer, Integer>>> passedUses = Collections
-            .synchronizedMap(new HashMap<>());
+    public Map<String, HashMap<Integer, HashMap<Integer, Integer>>> passedDefinitions = new HashMap<>();
+    public Map<String, HashMap<Integer, HashMap<Integer, Integer>>> passedUses = new HashMap<>();
 
-    public Map<String, HashMap<Integer, HashMap<Integer, Object>>> passedDefinitionObject = Collections
-            .synchronizedMap(new HashMap<>());
-    public Map<String, HashMap<Integer, HashMap<Integer, Object>>> passedUseObject = Collections
-            .synchronizedMap(new HashMap<>());
+    public Map<String, HashMap<Integer, HashMap<Integer, Object>>> passedDefinitionObject = new HashMap<>();
+    public Map<String, HashMap<Integer, HashMap<Integer, Object>>> passedUseObject = new HashMap<>();
 
     private int proxyCount = 1;
     // Data information
-    public Map<String, Map<String, Map<Integer, Integer>>> returnData = Collections
-            .synchronizedMap(new HashMap<>());
+    public Map<String, Map<String, Map<Integer, Integer>>> returnData = new HashMap<>();
 
     // active calls
     LinkedList<MethodCall> stack = new LinkedList<>();
 
-    public Set<Integer> touchedMutants = Collections.synchronizedSet(new HashSet<>());
+    public Set<Integer> touchedMutants = new HashSet<>();
 
-    public Map<Integer, Double> trueDistances = Collections.synchronizedMap(new HashMap<>());
+    public BranchDistanceMap trueDistances = new BranchDistanceMap();
 
-    private final Map<Integer, Double> trueDistancesSum = Collections.synchronizedMap(new HashMap<>());
+    private BranchDistanceMap trueDistancesSum = new BranchDistanceMap();
 
     public static Set<Integer> gradientBranches = Collections.synchronizedSet(new HashSet<>());
 
@@ -321,32 +323,22 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
         }
 
         if (traceCoverage) {
-            if (!coveredPredicates.containsKey(branch))
-                coveredPredicates.put(branch, 1);
-            else
-                coveredPredicates.put(branch, coveredPredicates.get(branch) + 1);
+            coveredPredicates.increment(branch);
 
             if (true_distance == 0.0) {
-                if (!coveredTrue.containsKey(branch))
-                    coveredTrue.put(branch, 1);
-                else
-                    coveredTrue.put(branch, coveredTrue.get(branch) + 1);
-
+                coveredTrue.increment(branch);
             }
 
             if (false_distance == 0.0) {
-                if (!coveredFalse.containsKey(branch))
-                    coveredFalse.put(branch, 1);
-                else
-                    coveredFalse.put(branch, coveredFalse.get(branch) + 1);
+                coveredFalse.increment(branch);
             }
         }
 
         if (Properties.TRACK_COVERED_GRADIENT_BRANCHES) {
             if (gradientBranches.contains(branch)) {
-                if ((coveredTrue.containsKey(branch)))
+                if ((coveredTrue.containsId(branch)))
                     gradientBranchesCoveredTrue.add(branch);
-                if ((coveredFalse.containsKey(branch)))
+                if ((coveredFalse.containsId(branch)))
                     gradientBranchesCoveredFalse.add(branch);
             }
         }
@@ -359,8 +351,8 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
                     .getInstruction().getASMNode().getPrevious() != null)
                 previousOpcode = BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT())
                         .getBranch(branch).getInstruction().getASMNode().getPrevious().getOpcode();
-            boolean cTrue = coveredTrue.containsKey(branch);
-            boolean cFalse = coveredFalse.containsKey(branch);
+            boolean cTrue = coveredTrue.containsId(branch);
+            boolean cFalse = coveredFalse.containsId(branch);
             switch (previousOpcode) {
                 case Opcodes.LCMP:
                     trackBranchOpcode(bytecodeInstructionReached, RuntimeVariable.Reached_lcmp, branch);
@@ -447,25 +439,10 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
             }
         }
 
-        if (!trueDistances.containsKey(branch))
-            trueDistances.put(branch, true_distance);
-        else
-            trueDistances.put(branch, Math.min(trueDistances.get(branch), true_distance));
-
-        if (!falseDistances.containsKey(branch))
-            falseDistances.put(branch, false_distance);
-        else
-            falseDistances.put(branch, Math.min(falseDistances.get(branch), false_distance));
-
-        if (!trueDistancesSum.containsKey(branch))
-            trueDistancesSum.put(branch, true_distance);
-        else
-            trueDistancesSum.put(branch, trueDistancesSum.get(branch) + true_distance);
-
-        if (!falseDistancesSum.containsKey(branch))
-            falseDistancesSum.put(branch, false_distance);
-        else
-            falseDistancesSum.put(branch, falseDistancesSum.get(branch) + false_distance);
+        trueDistances.putMin(branch, true_distance);
+        falseDistances.putMin(branch, false_distance);
+        trueDistancesSum.add(branch, true_distance);
+        falseDistancesSum.add(branch, false_distance);
 
         if (!disableContext && (Properties.INSTRUMENT_CONTEXT || Properties.INSTRUMENT_METHOD_CALLS
                 || ArrayUtil.contains(Properties.CRITERION, Criterion.IBRANCH)
@@ -526,7 +503,8 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
     /**
      * {@inheritDoc}
      * <p>
-     * Reset to 0
+     * Reset to 0. The branch maps keep their arrays, and all other collections
+     * are replaced, as these may be shared with a {@link #snapshot()}.
      */
     @Override
     public void clear() {
@@ -543,15 +521,17 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
         duCounter = 0;
         objectCounter = 0;
         knownCallerObjects = new HashMap<>();
-        trueDistances = new HashMap<>();
-        falseDistances = new HashMap<>();
+        trueDistances.clear();
+        falseDistances.clear();
+        trueDistancesSum.clear();
+        falseDistancesSum.clear();
         mutantDistances = new HashMap<>();
         touchedMutants = new HashSet<>();
         coveredMethods = new HashMap<>();
         coveredBranchlessMethods = new HashMap<>();
-        coveredPredicates = new HashMap<>();
-        coveredTrue = new HashMap<>();
-        coveredFalse = new HashMap<>();
+        coveredPredicates.clear();
+        coveredTrue.clear();
+        coveredFalse.clear();
         coveredDefs = new HashMap<>();
         passedDefinitions = new HashMap<>();
         passedUses = new HashMap<>();
@@ -561,6 +541,8 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
         coveredTrueContext = new HashMap<>();
         coveredFalseContext = new HashMap<>();
         coveredPredicateContext = new HashMap<>();
+        coveredMethodContext = new HashMap<>();
+        explicitException = null;
 
         initializedClasses = new ArrayList<>();
         classesWithStaticReads = new HashSet<>();
@@ -591,13 +573,13 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
          * null && stack.peek().method_name.equals("")) { logger.info(
          * "Copying main method"); copy.finished_calls.add(stack.peek()); }
          */
-        copy.trueDistances.putAll(trueDistances);
-        copy.falseDistances.putAll(falseDistances);
+        copy.trueDistances = trueDistances.compactCopy();
+        copy.falseDistances = falseDistances.compactCopy();
         copy.coveredMethods.putAll(coveredMethods);
         copy.coveredBranchlessMethods.putAll(coveredBranchlessMethods);
-        copy.coveredPredicates.putAll(coveredPredicates);
-        copy.coveredTrue.putAll(coveredTrue);
-        copy.coveredFalse.putAll(coveredFalse);
+        copy.coveredPredicates = coveredPredicates.compactCopy();
+        copy.coveredTrue = coveredTrue.compactCopy();
+        copy.coveredFalse = coveredFalse.compactCopy();
         copy.coveredDefs.putAll(coveredDefs);
         copy.touchedMutants.addAll(touchedMutants);
         copy.mutantDistances.putAll(mutantDistances);
@@ -623,6 +605,53 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
         return copy;
     }
 
+    /**
+     * Create a trace holding the data collected so far, for the result of an
+     * execution. The branch maps are compact copies, and all other
+     * collections are shared with this trace, which replaces them when it is
+     * cleared. This trace can thus be reused for the next execution, without
+     * reallocating the arrays of its branch maps.
+     *
+     * @return a new trace with the data of this one
+     */
+    ExecutionTraceImpl snapshot() {
+        ExecutionTraceImpl copy = new ExecutionTraceImpl();
+        copy.finishedCalls = finishedCalls;
+        copy.stack = stack;
+        copy.coverage = coverage;
+        copy.returnData = returnData;
+        copy.trueDistances = trueDistances.compactCopy();
+        copy.falseDistances = falseDistances.compactCopy();
+        copy.trueDistancesSum = trueDistancesSum.compactCopy();
+        copy.falseDistancesSum = falseDistancesSum.compactCopy();
+        copy.coveredMethods = coveredMethods;
+        copy.coveredBranchlessMethods = coveredBranchlessMethods;
+        copy.coveredPredicates = coveredPredicates.compactCopy();
+        copy.coveredTrue = coveredTrue.compactCopy();
+        copy.coveredFalse = coveredFalse.compactCopy();
+        copy.coveredDefs = coveredDefs;
+        copy.touchedMutants = touchedMutants;
+        copy.mutantDistances = mutantDistances;
+        copy.passedDefinitions = passedDefinitions;
+        copy.passedUses = passedUses;
+        copy.passedDefinitionObject = passedDefinitionObject;
+        copy.passedUseObject = passedUseObject;
+        copy.branchesTrace = branchesTrace;
+        copy.coveredTrueContext = coveredTrueContext;
+        copy.coveredFalseContext = coveredFalseContext;
+        copy.coveredPredicateContext = coveredPredicateContext;
+        copy.coveredMethodContext = coveredMethodContext;
+        copy.initializedClasses = initializedClasses;
+        copy.classesWithStaticReads = classesWithStaticReads;
+        copy.classesWithStaticWrites = classesWithStaticWrites;
+        copy.knownCallerObjects = knownCallerObjects;
+        copy.explicitException = explicitException;
+        copy.methodId = methodId;
+        copy.duCounter = duCounter;
+        copy.objectCounter = objectCounter;
+        return copy;
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -819,7 +848,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      * {@inheritDoc}
      */
     @Override
-    public synchronized void finishCalls() {
+    public void finishCalls() {
         logger.debug("At the end, we have " + stack.size() + " calls left on stack");
         while (!stack.isEmpty()) {
             finishedCalls.add(stack.pop());
@@ -1365,7 +1394,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public boolean hasFalseDistance(int predicateId) {
-        return falseDistances.containsKey(predicateId);
+        return falseDistances.containsId(predicateId);
     }
 
     /**
@@ -1393,7 +1422,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public boolean hasTrueDistance(int predicateId) {
-        return trueDistances.containsKey(predicateId);
+        return trueDistances.containsId(predicateId);
     }
 
     /*
@@ -23,6 +23,7 @@ import org.evosuite.coverage.dataflow.DefUsePool;
 import org.evosuite.coverage.dataflow.Definition;
 import org.evosuite.coverage.dataflow.Use;
 import org.evosuite.instrumentation.testability.BooleanHelper;
+import org.evosuite.runtime.classhandling.StaticInitializerDepth;
 import org.evosuite.seeding.ConstantPoolManager;
 import org.objectweb.asm.Opcodes;
 import org.slf4j.Logger;
@@ -44,18 +45,26 @@ public class ExecutionTracer {
 
     /**
      * We need to disable the execution tracer sometimes, e.g. when calling
-     * equals in the branch distance function
+     * equals in the branch distance function. This is also set by the search
+     * thread after a timeout, so it has to be visible to a still running test
+     * thread, which then stops writing to the trace.
      */
-    private boolean disabled = true;
+    private volatile boolean disabled = true;
 
     /**
-     * Flag that is used to kill threads that are stuck in endless loops
+     * Flag that is used to kill threads that are stuck in endless loops. It is
+     * set by the search thread and read by the test execution thread.
      */
-    private boolean killSwitch = false;
+    private volatile boolean killSwitch = false;
 
     private int num_statements = 0;
 
-    private ExecutionTrace trace;
+    /**
+     * Trace of the current execution. It is reused for all executions, so
+     * that its branch maps do not need to be allocated again, and results
+     * get a snapshot of it.
+     */
+    private final ExecutionTraceImpl trace = new ExecutionTraceImpl();
 
 
     private static boolean checkCallerThread = true;
@@ -192,7 +201,7 @@ public class ExecutionTracer {
      * Reset for new execution
      */
     public void clear() {
-        trace = new ExecutionTraceProxy();
+        trace.clear();
         BooleanHelper.clearStack();
         num_statements = 0;
     }
@@ -224,13 +233,24 @@ public class ExecutionTracer {
     }
 
     /**
-     * Return trace of current execution
+     * Return trace of current execution.
+     * <p>
+     * This is a snapshot of the current trace, with compact copies of the
+     * branch maps; the other collections remain shared with the current trace
+     * until {@link #clear()} is called for the next execution.
+     * <p>
+     * The trace is written without locks by the test execution thread only.
+     * This is usually called at the end of the test execution, and the
+     * returned trace is published to the search thread through the result of
+     * the execution task. After a timeout, the search thread calls this while
+     * the test thread may not have stopped yet, and the trace may then still
+     * be modified (see {@link TestCaseExecutor}).
      *
      * @return a {@link org.evosuite.testcase.execution.ExecutionTrace} object.
      */
     public ExecutionTrace getTrace() {
         trace.finishCalls();
-        return trace;
+        return new ExecutionTraceProxy(trace.snapshot());
 
         // ExecutionTrace copy = trace.clone();
         // // copy.finishCalls();
@@ -376,6 +396,12 @@ public class ExecutionTracer {
     }
 
     private static boolean isInStaticInit() {
+        // As long as the kill switch is active, this is called on every
+        // instrumented call, so avoid the stack walk for instrumented
+        // static initializers
+        if (StaticInitializerDepth.isInStaticInit())
+            return true;
+
         for (StackTraceElement elem : Thread.currentThread().getStackTrace()) {
             if (elem.getMethodName().equals("<clinit>"))
                 return true;
@@ -489,11 +515,20 @@ public class ExecutionTracer {
 
 
     /**
-     * This method is added in the transformed bytecode
+     * Called by instrumented code when a static initializer starts
+     */
+    public static void enteredClassInit() {
+        StaticInitializerDepth.enter();
+    }
+
+    /**
+     * Called by instrumented code when a static initializer is left, either
+     * normally or with an exception
      *
-     * @param className
+     * @param className the class that was initialized
      */
     public static void exitClassInit(String className) {
+        StaticInitializerDepth.exit();
 
         final String classNameWithDots = className.replace('/', '.');
 
@@ -822,7 +857,6 @@ public class ExecutionTracer {
     }
 
     private ExecutionTracer() {
-        trace = new ExecutionTraceProxy();
     }
 
 }
@@ -132,11 +132,25 @@ public class TestCaseExecutor implements ThreadFactory {
 
         try {
             TestCaseExecutor executor = getInstance();
+            ExecutionResultCache cache = ExecutionResultCache.getInstance();
+            boolean cacheable = cache.isEnabled() && executor.observers.isEmpty();
+            if (cacheable) {
+                ExecutionResult cached = cache.get(test);
+                if (cached != null) {
+                    logger.debug("Reusing cached execution result");
+                    return cached;
+                }
+            }
+
             logger.debug("Executing test");
             result = executor.execute(test);
 
             MaxStatementsStoppingCondition.statementsExecuted(result.getExecutedStatements());
 
+            if (cacheable) {
+                cache.put(result);
+            }
+
         } catch (Exception e) {
             logger.error("TG: Exception caught: ", e);
             throw new Error(e);
@@ -472,6 +486,12 @@ public class TestCaseExecutor implements ThreadFactory {
             ExecutionResult result = new ExecutionResult(tc, null);
             result.setThrownExceptions(callable.getExceptionsThrown());
             result.reportNewThrownException(tc.size(), new TestCaseExecutor.TimeoutExceeded());
+            /*
+             * The trace is not synchronized, and there is no happens-before
+             * relation with a test thread that survived the kill switch. Such a
+             * thread stops writing once it sees the tracer disabled, but the
+             * trace of a timed out test may be incomplete or inconsistent.
+             */
             result.setTrace(ExecutionTracer.getExecutionTracer().getTrace());
             ExecutionTracer.getExecutionTracer().clear();
             ExecutionTracer.setKillSwitch(false);
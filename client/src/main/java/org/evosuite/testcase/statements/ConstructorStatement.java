@@ -33,6 +33,7 @@ import org.evosuite.testcase.variable.VariableReference;
 import org.evosuite.testcase.variable.VariableReferenceImpl;
 import org.evosuite.utils.Randomness;
 import org.evosuite.utils.generic.GenericConstructor;
+import org.evosuite.utils.generic.ExecutableInvoker;
 import org.objectweb.asm.Type;
 
 import java.io.PrintStream;
@@ -216,7 +217,7 @@ public class ConstructorStatement extends EntityWithParametersStatement {
                         }
                     }
 
-                    Object ret = constructor.getConstructor().newInstance(inputs);
+                    Object ret = ExecutableInvoker.newInstance(constructor.getConstructor(), inputs);
 
                     try {
                         // assert(retval.getVariableClass().isAssignableFrom(ret.getClass())) :"we want an " + retval.getVariableClass() + " but got an " + ret.getClass();
@@ -32,6 +32,7 @@ import org.evosuite.testcase.variable.ArrayReference;
 import org.evosuite.testcase.variable.VariableReference;
 import org.evosuite.utils.Randomness;
 import org.evosuite.utils.generic.GenericMethod;
+import org.evosuite.utils.generic.ExecutableInvoker;
 import org.objectweb.asm.Type;
 
 import java.io.PrintStream;
@@ -254,7 +255,7 @@ public class MethodStatement extends EntityWithParametersStatement {
                         throw new EvosuiteError(e);
                     }
 
-                    Object ret = method.getMethod().invoke(callee_object, inputs);
+                    Object ret = ExecutableInvoker.invoke(method.getMethod(), callee_object, inputs);
                     // Try exact return type
                     /*
                      * TODO: Sometimes we do want to cast an Object to String etc...
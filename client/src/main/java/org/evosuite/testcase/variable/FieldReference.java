@@ -360,6 +360,27 @@ public class FieldReference extends VariableReferenceImpl {
         return field.isAccessible();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Two references to different fields of the same type are not the same,
+     * even if these belong to the same object
+     */
+    @Override
+    public boolean same(VariableReference r) {
+        if (!(r instanceof FieldReference))
+            return false;
+
+        FieldReference other = (FieldReference) r;
+        if (!field.equals(other.field))
+            return false;
+
+        if (source == null)
+            return other.source == null && type.equals(other.getGenericClass());
+
+        return source.same(other.source) && type.equals(other.getGenericClass());
+    }
+
     /* (non-Javadoc)
      * @see java.lang.Object#hashCode()
      */
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testsuite;
+
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+
+import java.util.*;
+
+/**
+ * Goal-to-test coverage matrix. Each test is checked against all goals once
+ * when it is added, and coverage queries are then answered from bitsets
+ * instead of evaluating the goals again.
+ */
+public class CoverageMatrix {
+
+    private final List<TestFitnessFunction> goals;
+
+    private final List<TestChromosome> tests = new ArrayList<>();
+
+    /**
+     * For each test, the indexes of the goals it covers
+     */
+    private final List<BitSet> coveredGoals = new ArrayList<>();
+
+    /**
+     * For each goal, the indexes of the tests covering it
+     */
+    private final List<BitSet> coveringTests = new ArrayList<>();
+
+    public CoverageMatrix(List<TestFitnessFunction> goals) {
+        this.goals = goals;
+        for (int i = 0; i < goals.size(); i++) {
+            coveringTests.add(new BitSet());
+        }
+    }
+
+    /**
+     * Add a test to the matrix, checking which goals it covers. This
+     * executes the test only if it has no up-to-date execution result.
+     *
+     * @param test
+     * @return the index of the test in the matrix
+     */
+    public int addTest(TestChromosome test) {
+        int index = tests.size();
+        BitSet covered = new BitSet(goals.size());
+        for (int i = 0; i < goals.size(); i++) {
+            if (goals.get(i).isCovered(test)) {
+                covered.set(i);
+                coveringTests.get(i).set(index);
+            }
+        }
+        tests.add(test);
+        coveredGoals.add(covered);
+        return index;
+    }
+
+    public int getNumberOfTests() {
+        return tests.size();
+    }
+
+    public int getNumberOfGoals() {
+        return goals.size();
+    }
+
+    public TestChromosome getTest(int index) {
+        return tests.get(index);
+    }
+
+    /**
+     * @param testIndex
+     * @return a copy of the set of indexes of the goals covered by the test
+     */
+    public BitSet getCoveredGoals(int testIndex) {
+        return (BitSet) coveredGoals.get(testIndex).clone();
+    }
+
+    /**
+     * @param goalIndex
+     * @return a copy of the set of indexes of the tests covering the goal
+     */
+    public BitSet getCoveringTests(int goalIndex) {
+        return (BitSet) coveringTests.get(goalIndex).clone();
+    }
+
+    /**
+     * Greedy set cover: repeatedly select the test covering most of the goals
+     * not covered yet, until no test adds any coverage. On ties, the test
+     * added last is preferred, as tests subsuming others are usually at the
+     * end of a suite.
+     *
+     * @return indexes of the selected tests, in increasing order
+     */
+    public SortedSet<Integer> getGreedyCover() {
+        BitSet uncovered = new BitSet(goals.size());
+        for (BitSet covered : coveredGoals) {
+            uncovered.or(covered);
+        }
+
+        SortedSet<Integer> selected = new TreeSet<>();
+        BitSet gain = new BitSet(goals.size());
+        while (!uncovered.isEmpty()) {
+            int best = -1;
+            int bestGain = 0;
+            for (int i = tests.size() - 1; i >= 0; i--) {
+                if (selected.contains(i)) {
+                    continue;
+                }
+                gain.clear();
+                gain.or(coveredGoals.get(i));
+                gain.and(uncovered);
+                if (gain.cardinality() > bestGain) {
+                    best = i;
+                    bestGain = gain.cardinality();
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            selected.add(best);
+            uncovered.andNot(coveredGoals.get(best));
+        }
+        return selected;
+    }
+}
@@ -167,11 +167,28 @@ public class TestSuiteMinimizer {
         if (Properties.MINIMIZE_SORT)
             Collections.sort(goals);
 
-        Set<TestFitnessFunction> covered = new LinkedHashSet<>();
-        List<TestChromosome> minimizedTests = new ArrayList<>();
+        // Evaluate each goal on each test only once
+        CoverageMatrix matrix = new CoverageMatrix(goals);
+        for (TestChromosome test : suite.getTestChromosomes()) {
+            if (isTimeoutReached()) {
+                logger.warn("Minimization timeout. Roll back to original test suite");
+                return;
+            }
+            matrix.addTest(test);
+        }
+
+        /*
+         * All the goals covered by a minimized test are recorded as soon as
+         * the test is added, so coincidentally covered goals are skipped
+         * without having to check the minimized tests again, whether or not
+         * minimize_skip_coincidental is set
+         */
+        BitSet covered = new BitSet(numGoals);
+        CoverageMatrix minimizedMatrix = new CoverageMatrix(goals);
         TestSuiteWriter minimizedSuite = new TestSuiteWriter();
 
-        for (TestFitnessFunction goal : goals) {
+        for (int goalIndex = 0; goalIndex < numGoals; goalIndex++) {
+            TestFitnessFunction goal = goals.get(goalIndex);
             updateClientStatus(numGoals > 0 ? 100 * currentGoal / numGoals : 100);
             currentGoal++;
             if (isTimeoutReached()) {
@@ -183,32 +200,17 @@ public class TestSuiteMinimizer {
                 return;
             }
             logger.info("Considering goal: " + goal);
-            if (Properties.MINIMIZE_SKIP_COINCIDENTAL) {
-                for (TestChromosome test : minimizedTests) {
-                    if (isTimeoutReached()) {
-                        logger.warn("Minimization timeout. Roll back to original test suite");
-                        return;
-                    }
-                    if (goal.isCovered(test)) {
-                        logger.info("Covered by minimized test: " + goal);
-                        covered.add(goal);
-                        //test.getTestCase().addCoveredGoal(goal); // FIXME why? goal.isCovered(test) is already adding the goal
-                        break;
-                    }
-                }
-            }
-            if (covered.contains(goal)) {
+            if (covered.get(goalIndex)) {
                 logger.info("Already covered: " + goal);
-                logger.info("Now the suite covers " + covered.size() + "/"
+                logger.info("Now the suite covers " + covered.cardinality() + "/"
                         + goals.size() + " goals");
                 continue;
             }
 
             List<TestChromosome> coveringTests = new ArrayList<>();
-            for (TestChromosome test : suite.getTestChromosomes()) {
-                if (goal.isCovered(test)) {
-                    coveringTests.add(test);
-                }
+            BitSet coveringIndexes = matrix.getCoveringTests(goalIndex);
+            for (int i = coveringIndexes.nextSetBit(0); i >= 0; i = coveringIndexes.nextSetBit(i + 1)) {
+                coveringTests.add(matrix.getTest(i));
             }
             Collections.sort(coveringTests);
             if (!coveringTests.isEmpty()) {
@@ -226,17 +228,15 @@ public class TestSuiteMinimizer {
                 copy.getTestCase().clearCoveredGoals();
 
                 // Add ALL goals covered by the minimized test
-                for (TestFitnessFunction g : goals) {
-                    if (g.isCovered(copy)) { // isCovered(copy) adds the goal
-                        covered.add(g);
-                        logger.info("Goal covered by minimized test: " + g);
-                    }
+                BitSet coveredByCopy = minimizedMatrix.getCoveredGoals(minimizedMatrix.addTest(copy));
+                for (int i = coveredByCopy.nextSetBit(0); i >= 0; i = coveredByCopy.nextSetBit(i + 1)) {
+                    logger.info("Goal covered by minimized test: " + goals.get(i));
                 }
+                covered.or(coveredByCopy);
 
-                minimizedTests.add(copy);
                 minimizedSuite.insertTest(copy.getTestCase());
 
-                logger.info("After new test the suite covers " + covered.size() + "/"
+                logger.info("After new test the suite covers " + covered.cardinality() + "/"
                         + goals.size() + " goals");
 
             } else {
@@ -244,7 +244,7 @@ public class TestSuiteMinimizer {
             }
         }
 
-        logger.info("Minimized suite covers " + covered.size() + "/" + goals.size()
+        logger.info("Minimized suite covers " + covered.cardinality() + "/" + goals.size()
                 + " goals");
         suite.tests.clear();
         for (TestCase test : minimizedSuite.getTestCases()) {
@@ -264,9 +264,8 @@ public class TestSuiteMinimizer {
         information.setCoverage((int) (Math.round(suiteCoverage * 100)));
         ClientServices.getInstance().getClientNode().changeState(state, information);
 
-        for (TestFitnessFunction goal : goals) {
-            if (!covered.contains(goal))
-                logger.info("Failed to cover: " + goal);
+        for (int i = covered.nextClearBit(0); i < numGoals; i = covered.nextClearBit(i + 1)) {
+            logger.info("Failed to cover: " + goals.get(i));
         }
         // suite.tests = minimizedTests;
     }
@@ -410,34 +409,22 @@ public class TestSuiteMinimizer {
     }
 
     private void removeRedundantTestCases(TestSuiteChromosome suite, List<TestFitnessFunction> goals) {
-        // Subsuming tests are inserted in the back, so we start inserting the final tests from there
         List<TestChromosome> tests = suite.getTestChromosomes();
         logger.debug("Before removing redundant tests: " + tests.size());
 
-        Collections.reverse(tests);
-        List<TestChromosome> finalTests = new ArrayList<>();
-        Set<TestFitnessFunction> coveredGoals = new LinkedHashSet<>();
-
+        CoverageMatrix matrix = new CoverageMatrix(goals);
         for (TestChromosome test : tests) {
-            boolean addsNewGoals = false;
-            for (TestFitnessFunction goal : goals) {
-                if (!coveredGoals.contains(goal)) {
-                    if (goal.isCovered(test)) {
-                        addsNewGoals = true;
-                        coveredGoals.add(goal);
-                    }
-                }
-            }
+            matrix.addTest(test);
+        }
 
-            if (addsNewGoals) {
-                coveredGoals.addAll(test.getTestCase().getCoveredGoals());
-                finalTests.add(test);
-            }
+        // Keep the selected tests in their original order
+        List<TestChromosome> finalTests = new ArrayList<>();
+        for (int index : matrix.getGreedyCover()) {
+            finalTests.add(matrix.getTest(index));
         }
-        Collections.reverse(finalTests);
         suite.getTestChromosomes().clear();
         suite.getTestChromosomes().addAll(finalTests);
-        logger.debug("After removing redundant tests: " + tests.size());
+        logger.debug("After removing redundant tests: " + finalTests.size());
 
     }
 }
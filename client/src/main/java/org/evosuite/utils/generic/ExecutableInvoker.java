@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils.generic;
+
+import org.apache.commons.lang3.ClassUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Invokes methods and constructors through cached {@link MethodHandle}s
+ * rather than through core reflection, which avoids the access checks and
+ * argument re-validation of {@link Method#invoke} on every call.
+ *
+ * <p>
+ * The semantics are those of reflection: exceptions thrown by the invoked
+ * code are wrapped into an {@link InvocationTargetException}. Whenever a
+ * handle cannot be created (eg, the member is not accessible) or the
+ * arguments would need a conversion other than unboxing (eg, widening an
+ * {@code Integer} to a {@code long}), the call falls back to reflection, so
+ * that it fails or converts exactly as before.
+ */
+public final class ExecutableInvoker {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * Handles are stored with the class declaring the member, so they do not
+     * keep classes of discarded class loaders alive. Members are compared by
+     * signature, so handles created from members with suppressed access
+     * checks are kept apart, as they must not be used for the other ones.
+     */
+    private static final ClassValue<ConcurrentMap<Member, Optional<MethodHandle>>> HANDLES = new HandleCache();
+
+    private static final ClassValue<ConcurrentMap<Member, Optional<MethodHandle>>> ACCESSIBLE_HANDLES = new HandleCache();
+
+    private static class HandleCache extends ClassValue<ConcurrentMap<Member, Optional<MethodHandle>>> {
+        @Override
+        protected ConcurrentMap<Member, Optional<MethodHandle>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    }
+
+    private ExecutableInvoker() {
+    }
+
+    /**
+     * Equivalent to {@code method.invoke(callee, args)}
+     *
+     * @param method the method to invoke
+     * @param callee the object the method is invoked on, ignored for static methods
+     * @param args   the arguments, one per parameter of the method
+     * @return the return value of the method, or {@code null} if it is void
+     */
+    public static Object invoke(Method method, Object callee, Object[] args)
+            throws IllegalAccessException, IllegalArgumentException, InvocationTargetException {
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        MethodHandle handle = getHandle(method);
+        if (handle == null
+                || (!isStatic && !method.getDeclaringClass().isInstance(callee))
+                || !matchesExactly(method.getParameterTypes(), args)) {
+            return method.invoke(callee, args);
+        }
+
+        try {
+            if (isStatic) {
+                return (Object) handle.invokeExact(args);
+            } else {
+                return (Object) handle.invokeExact(callee, args);
+            }
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    /**
+     * Equivalent to {@code constructor.newInstance(args)}
+     *
+     * @param constructor the constructor to invoke
+     * @param args        the arguments, one per parameter of the constructor
+     * @return the new instance
+     */
+    public static Object newInstance(Constructor<?> constructor, Object[] args)
+            throws InstantiationException, IllegalAccessException, IllegalArgumentException,
+            InvocationTargetException {
+        MethodHandle handle = getHandle(constructor);
+        if (handle == null || !matchesExactly(constructor.getParameterTypes(), args)) {
+            return constructor.newInstance(args);
+        }
+
+        try {
+            return (Object) handle.invokeExact(args);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    /**
+     * @return true if the arguments can be passed to the parameters without
+     * any conversion apart from unboxing
+     */
+    private static boolean matchesExactly(Class<?>[] parameterTypes, Object[] args) {
+        if (args.length != parameterTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < args.length; i++) {
+            Class<?> parameterType = parameterTypes[i];
+            Object arg = args[i];
+            if (parameterType.isPrimitive()) {
+                if (arg == null || arg.getClass() != ClassUtils.primitiveToWrapper(parameterType)) {
+                    return false;
+                }
+            } else if (arg != null && !parameterType.isInstance(arg)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static MethodHandle getHandle(Method method) {
+        return (method.isAccessible() ? ACCESSIBLE_HANDLES : HANDLES).get(method.getDeclaringClass())
+                .computeIfAbsent(method, m -> createHandle(method))
+                .orElse(null);
+    }
+
+    private static MethodHandle getHandle(Constructor<?> constructor) {
+        return (constructor.isAccessible() ? ACCESSIBLE_HANDLES : HANDLES).get(constructor.getDeclaringClass())
+                .computeIfAbsent(constructor, c -> createHandle(constructor))
+                .orElse(null);
+    }
+
+    /**
+     * @return a handle of type {@code (Object[])Object} for static methods,
+     * and {@code (Object, Object[])Object} for instance methods
+     */
+    private static Optional<MethodHandle> createHandle(Method method) {
+        int numParameters = method.getParameterCount();
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        try {
+            MethodHandle handle = LOOKUP.unreflect(method).asFixedArity();
+            handle = handle.asType(MethodType.genericMethodType(isStatic ? numParameters : numParameters + 1));
+            return Optional.of(handle.asSpreader(Object[].class, numParameters));
+        } catch (IllegalAccessException | SecurityException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return a handle of type {@code (Object[])Object}
+     */
+    private static Optional<MethodHandle> createHandle(Constructor<?> constructor) {
+        if (Modifier.isAbstract(constructor.getDeclaringClass().getModifiers())) {
+            // reflection reports this with an InstantiationException
+            return Optional.empty();
+        }
+        int numParameters = constructor.getParameterCount();
+        try {
+            MethodHandle handle = LOOKUP.unreflectConstructor(constructor).asFixedArity();
+            handle = handle.asType(MethodType.genericMethodType(numParameters));
+            return Optional.of(handle.asSpreader(Object[].class, numParameters));
+        } catch (IllegalAccessException | SecurityException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.classpath;
+
+import com.examples.with.different.packagename.classpath.Foo;
+import com.examples.with.different.packagename.classpath.subp.SubPackageFoo;
+import org.apache.commons.io.IOUtils;
+import org.evosuite.Properties;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+public class ClassPathIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File indexDir;
+
+    @Before
+    public void setUp() throws IOException {
+        indexDir = folder.newFolder("index");
+        Properties.CLASSPATH_INDEX_DIR = indexDir.getAbsolutePath();
+        ClassPathIndex.getInstance().reset();
+    }
+
+    @After
+    public void tearDown() {
+        Properties.CLASSPATH_INDEX_DIR = null;
+        ClassPathIndex.getInstance().reset();
+    }
+
+    private File createJar(String name, Class<?>... classes) throws IOException {
+        File jar = new File(folder.getRoot(), name);
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            for (Class<?> clazz : classes) {
+                String path = clazz.getName().replace('.', '/') + ".class";
+                out.putNextEntry(new JarEntry(path));
+                try (InputStream in = clazz.getClassLoader().getResourceAsStream(path)) {
+                    IOUtils.copy(in, out);
+                }
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    @Test
+    public void testDisabled() throws IOException {
+        File jar = createJar("foo.jar", Foo.class);
+        Properties.CLASSPATH_INDEX_DIR = null;
+        Assert.assertNull(ClassPathIndex.getInstance().getJarIndex(jar.getAbsolutePath()));
+    }
+
+    @Test
+    public void testIndexContent() throws IOException {
+        File jar = createJar("foo.jar", Foo.class, SubPackageFoo.class);
+
+        ClassPathIndex.JarIndex index = ClassPathIndex.getInstance().getJarIndex(jar.getAbsolutePath());
+        Assert.assertNotNull(index);
+        Assert.assertEquals(Arrays.asList(Foo.class.getName(), SubPackageFoo.class.getName()),
+                Arrays.asList(index.getClassNames().toArray()));
+
+        ClassPathIndex.ClassInfo info = index.getClassInfo(Foo.class.getName());
+        Assert.assertEquals("com/examples/with/different/packagename/classpath/Foo", info.getName());
+        Assert.assertEquals("java/lang/Object", info.getSuperName());
+        Assert.assertFalse(info.getMethods().isEmpty());
+    }
+
+    @Test
+    public void testIndexIsReusedAcrossRuns() throws IOException {
+        File jar = createJar("foo.jar", Foo.class);
+        ClassPathIndex.getInstance().getJarIndex(jar.getAbsolutePath());
+
+        File[] files = indexDir.listFiles();
+        Assert.assertEquals(1, files.length);
+        long lastModified = files[0].lastModified();
+
+        // a new run only has the files on disk
+        ClassPathIndex.getInstance().reset();
+        ClassPathIndex.JarIndex index = ClassPathIndex.getInstance().getJarIndex(jar.getAbsolutePath());
+
+        Assert.assertTrue(index.getClassNames().contains(Foo.class.getName()));
+        files = indexDir.listFiles();
+        Assert.assertEquals(1, files.length);
+        Assert.assertEquals(lastModified, files[0].lastModified());
+    }
+
+    @Test
+    public void testIndexIsRebuiltWhenJarChanges() throws IOException {
+        File jar = createJar("foo.jar", Foo.class);
+        ClassPathIndex.JarIndex index = ClassPathIndex.getInstance().getJarIndex(jar.getAbsolutePath());
+        Assert.assertFalse(index.getClassNames().contains(SubPackageFoo.class.getName()));
+
+        jar.delete();
+        createJar("foo.jar", Foo.class, SubPackageFoo.class);
+        // make sure the change is noticed even with a coarse file system timestamp
+        jar.setLastModified(jar.lastModified() + 2000);
+
+        index = ClassPathIndex.getInstance().getJarIndex(jar.getAbsolutePath());
+        Assert.assertTrue(index.getClassNames().contains(SubPackageFoo.class.getName()));
+        Assert.assertEquals(2, indexDir.listFiles().length);
+    }
+}
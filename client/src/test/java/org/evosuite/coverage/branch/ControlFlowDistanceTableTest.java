@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.branch;
+
+import org.evosuite.testcase.execution.MethodCall;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ControlFlowDistanceTableTest {
+
+    private static MethodCall call(String className, String methodName, int... branches) {
+        MethodCall call = new MethodCall(className, methodName, 0, 0, 0);
+        for (int i = 0; i < branches.length; i++) {
+            call.branchTrace.add(branches[i]);
+            call.trueDistanceTrace.add((double) (10 - i));
+            call.falseDistanceTrace.add((double) i);
+        }
+        return call;
+    }
+
+    @Test
+    public void testCallsAreGroupedByMethod() {
+        List<MethodCall> calls = new ArrayList<>();
+        calls.add(call("Foo", "foo()V", 1));
+        calls.add(call("Foo", "bar()V", 2));
+        calls.add(call("Foo", "foo()V", 3));
+
+        ControlFlowDistanceTable table = new ControlFlowDistanceTable(calls);
+
+        assertEquals(2, table.getCalls("Foo", "foo()V").size());
+        assertEquals(1, table.getCalls("Foo", "bar()V").size());
+        assertTrue(table.getCalls("Foo", "baz()V").isEmpty());
+        assertTrue(table.getCalls("Bar", "foo()V").isEmpty());
+
+        assertTrue(table.getCalls("Foo", "foo()V").get(0).isTraced(1));
+        assertFalse(table.getCalls("Foo", "foo()V").get(0).isTraced(3));
+        assertTrue(table.getCalls("Foo", "foo()V").get(1).isTraced(3));
+    }
+
+    @Test
+    public void testMinimalDistances() {
+        List<MethodCall> calls = new ArrayList<>();
+        // branch 1 is evaluated at positions 0 and 2, branch 2 at position 1
+        calls.add(call("Foo", "foo()V", 1, 2, 1));
+
+        ControlFlowDistanceTable.CallDistances distances =
+                new ControlFlowDistanceTable(calls).getCalls("Foo", "foo()V").get(0);
+
+        assertEquals(8.0, distances.getDistance(1, true), 0.0);
+        assertEquals(0.0, distances.getDistance(1, false), 0.0);
+        assertEquals(9.0, distances.getDistance(2, true), 0.0);
+        assertEquals(1.0, distances.getDistance(2, false), 0.0);
+    }
+
+    @Test
+    public void testUpToDate() {
+        List<MethodCall> calls = new ArrayList<>();
+        calls.add(call("Foo", "foo()V", 1));
+
+        ControlFlowDistanceTable table = new ControlFlowDistanceTable(calls);
+        assertTrue(table.isUpToDate(calls));
+        assertFalse(table.isUpToDate(new ArrayList<>(calls)));
+
+        calls.add(call("Foo", "foo()V", 2));
+        assertFalse(table.isUpToDate(calls));
+    }
+}
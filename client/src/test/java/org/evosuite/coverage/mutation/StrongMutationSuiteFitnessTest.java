@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.mutation;
+
+import com.examples.with.different.packagename.FlagExample1;
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTraceImpl;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StrongMutationSuiteFitnessTest {
+
+    private Mutation mutation;
+
+    @Before
+    public void setUp() throws ClassNotFoundException {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        Properties.getInstance().resetToDefaults();
+        Properties.TARGET_CLASS = FlagExample1.class.getCanonicalName();
+        Properties.CRITERION = new Properties.Criterion[]{Properties.Criterion.STRONGMUTATION};
+        TestGenerationContext.getInstance().resetContext();
+
+        ClassLoader loader = TestGenerationContext.getInstance().getClassLoaderForSUT();
+        loader.loadClass(Properties.TARGET_CLASS);
+        mutation = MutationPool.getInstance(loader).getMutants().get(0);
+    }
+
+    @After
+    public void tearDown() {
+        TestGenerationContext.getInstance().resetContext();
+        Properties.getInstance().resetToDefaults();
+    }
+
+    private TestChromosome createTest(int value, long executionTime) {
+        DefaultTestCase test = new DefaultTestCase();
+        test.addStatement(new IntPrimitiveStatement(test, value));
+
+        // every test reaches the mutant and infects it
+        ExecutionTraceImpl trace = new ExecutionTraceImpl();
+        trace.mutationPassed(mutation.getId(), 0.0);
+        ExecutionResult result = new ExecutionResult(test);
+        result.setTrace(trace);
+        result.setExecutionTime(executionTime);
+
+        TestChromosome chromosome = new TestChromosome();
+        chromosome.setTestCase(test);
+        chromosome.setLastExecutionResult(result);
+        chromosome.setChanged(false);
+        return chromosome;
+    }
+
+    /**
+     * Returns the fitness of a suite where only the killer test kills the
+     * mutant, and the other test only infects it
+     */
+    private double getFitness(long killerTime, long infectorTime, boolean killCached) {
+        TestChromosome killer = createTest(0, killerTime);
+        TestChromosome infector = createTest(1, infectorTime);
+        if (killCached) {
+            killer.setLastExecutionResult(new MutationExecutionResult(), mutation);
+        }
+
+        MutationTestFitness goal = mock(MutationTestFitness.class);
+        when(goal.getMutation()).thenReturn(mutation);
+        when(goal.getFitness(killer, killer.getLastExecutionResult())).thenReturn(0.0);
+        when(goal.getFitness(infector, infector.getLastExecutionResult())).thenReturn(0.5);
+
+        // only the first mutant of the class is considered
+        StrongMutationSuiteFitness fitness = new StrongMutationSuiteFitness();
+        fitness.mutantMap.clear();
+        fitness.mutantMap.put(mutation.getId(), goal);
+
+        TestSuiteChromosome suite = new TestSuiteChromosome();
+        suite.addTest(infector);
+        suite.addTest(killer);
+        double value = fitness.getFitness(suite);
+        assertEquals(1, suite.getNumOfCoveredGoals(fitness));
+        return value;
+    }
+
+    @Test
+    public void testFitnessDoesNotDependOnWhichTestKillsTheMutant() {
+        double killedBySlowerTest = getFitness(10, 1, false);
+        double killedByFasterTest = getFitness(1, 10, false);
+        assertEquals(killedByFasterTest, killedBySlowerTest, 0.0);
+    }
+
+    @Test
+    public void testFitnessDoesNotDependOnCachedKills() {
+        double killedInMainLoop = getFitness(10, 1, false);
+        double killedByCachedResult = getFitness(10, 1, true);
+        assertEquals(killedInMainLoop, killedByCachedResult, 0.0);
+    }
+}
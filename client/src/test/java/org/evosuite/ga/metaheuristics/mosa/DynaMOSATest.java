@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.metaheuristics.mosa;
+
+import org.evosuite.Properties;
+import org.evosuite.ga.ChromosomeFactory;
+import org.evosuite.ga.metaheuristics.mosa.structural.MultiCriteriaManager;
+import org.evosuite.ga.operators.ranking.RankingFunction;
+import org.evosuite.testcase.TestChromosome;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class DynaMOSATest {
+
+    private DynaMOSA algorithm;
+
+    private MultiCriteriaManager goalsManager;
+
+    private RankingFunction<TestChromosome> rankingFunction;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Properties.getInstance().resetToDefaults();
+        // no offspring, so that the union only contains the immigrants
+        Properties.POPULATION = 0;
+        Properties.P_TEST_INSERTION = 0;
+
+        algorithm = new DynaMOSA(mock(ChromosomeFactory.class));
+        goalsManager = mock(MultiCriteriaManager.class);
+        algorithm.goalsManager = goalsManager;
+        rankingFunction = mock(RankingFunction.class);
+        when(rankingFunction.getSubfront(anyInt())).thenReturn(Collections.emptyList());
+        algorithm.setRankingFunction(rankingFunction);
+    }
+
+    @After
+    public void tearDown() {
+        Properties.getInstance().resetToDefaults();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testImmigrantsAreEvaluatedBeforeRanking() {
+        Properties.NUM_PARALLEL_CLIENTS = 2;
+        TestChromosome immigrant = new TestChromosome();
+        algorithm.receiveImmigrants(Collections.singleton(immigrant));
+
+        algorithm.evolve();
+
+        InOrder inOrder = inOrder(goalsManager, rankingFunction);
+        inOrder.verify(goalsManager).calculateFitness(immigrant, algorithm);
+        inOrder.verify(rankingFunction).computeRankingAssignment(
+                argThat((List<TestChromosome> union) -> union.contains(immigrant)), any());
+        assertTrue(algorithm.pollImmigrants().isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testImmigrantsAreIgnoredWithoutParallelClients() {
+        Properties.NUM_PARALLEL_CLIENTS = 1;
+        TestChromosome immigrant = new TestChromosome();
+        algorithm.receiveImmigrants(Collections.singleton(immigrant));
+
+        algorithm.evolve();
+
+        verify(goalsManager, never()).calculateFitness(eq(immigrant), any());
+        verify(rankingFunction).computeRankingAssignment(
+                argThat((List<TestChromosome> union) -> union.isEmpty()), any());
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.metaheuristics.mosa.structural;
+
+import com.examples.with.different.packagename.ArrayStack;
+import org.evosuite.Properties;
+import org.evosuite.Properties.Criterion;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.coverage.branch.BranchCoverageFactory;
+import org.evosuite.coverage.line.LineCoverageFactory;
+import org.evosuite.ga.FitnessFunction;
+import org.evosuite.ga.archive.Archive;
+import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFactory;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.reset.ClassReInitializer;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.utils.Randomness;
+import org.evosuite.utils.generic.GenericClass;
+import org.evosuite.utils.generic.GenericClassFactory;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.evosuite.utils.generic.GenericMethod;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MultiCriteriaManagerTest {
+
+    private List<TestFitnessFunction> goals;
+
+    private DefaultTestCase test;
+
+    @Before
+    public void setUp() throws Exception {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+        Properties.getInstance().resetToDefaults();
+        Randomness.setSeed(42);
+        TestGenerationContext.getInstance().resetContext();
+        ClassReInitializer.resetSingleton();
+        Archive.getArchiveInstance().reset();
+
+        Properties.CRITERION = new Criterion[]{Criterion.LINE, Criterion.BRANCH};
+        Properties.TARGET_CLASS = ArrayStack.class.getCanonicalName();
+        Class<?> sut = TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(Properties.TARGET_CLASS);
+        GenericClass<?> clazz = GenericClassFactory.get(sut);
+
+        goals = new ArrayList<>();
+        goals.addAll(new LineCoverageFactory().getCoverageGoals());
+        goals.addAll(new BranchCoverageFactory().getCoverageGoals());
+
+        test = new DefaultTestCase();
+        TestFactory testFactory = TestFactory.getInstance();
+        VariableReference stack = testFactory.addConstructor(test,
+                new GenericConstructor(sut.getConstructor(), clazz), 0, 0);
+        testFactory.addMethodFor(test, stack, new GenericMethod(sut.getMethod("empty"), sut), test.size());
+        testFactory.addMethodFor(test, stack, new GenericMethod(sut.getMethod("peek", int.class), sut), test.size());
+    }
+
+    @After
+    public void tearDown() {
+        Archive.getArchiveInstance().reset();
+        TestGenerationContext.getInstance().resetContext();
+        Properties.getInstance().resetToDefaults();
+    }
+
+    @Test
+    public void testParallelGoalEvaluationMatchesSequentialEvaluation() {
+        Evaluation sequential = evaluate(1);
+        Evaluation parallel = evaluate(4);
+
+        assertTrue(goals.size() > 20);
+        assertFalse(sequential.covered.isEmpty());
+        assertFalse(sequential.uncovered.isEmpty());
+
+        assertEquals(sequential.fitness, parallel.fitness);
+        assertEquals(sequential.coveredByTest, parallel.coveredByTest);
+        assertEquals(sequential.currentGoals, parallel.currentGoals);
+        assertEquals(sequential.covered, parallel.covered);
+        assertEquals(sequential.uncovered, parallel.uncovered);
+        assertEquals(sequential.solutions, parallel.solutions);
+    }
+
+    /**
+     * Evaluates a copy of the test against all goals with the given number of goal evaluation
+     * threads, starting from an empty archive.
+     */
+    @SuppressWarnings("unchecked")
+    private Evaluation evaluate(int threads) {
+        Properties.GOAL_EVALUATION_THREADS = threads;
+        Archive.getArchiveInstance().reset();
+
+        MultiCriteriaManager manager = new MultiCriteriaManager(goals);
+        TestChromosome chromosome = new TestChromosome();
+        chromosome.setTestCase(test.clone());
+        GeneticAlgorithm<TestChromosome> ga = mock(GeneticAlgorithm.class);
+        when(ga.isFinished()).thenReturn(false);
+
+        manager.calculateFitness(chromosome, ga);
+
+        Evaluation evaluation = new Evaluation();
+        evaluation.fitness = new LinkedHashMap<>(chromosome.getFitnessValues());
+        evaluation.coveredByTest = chromosome.getTestCase().getCoveredGoals();
+        evaluation.currentGoals = manager.getCurrentGoals();
+        evaluation.covered = manager.getCoveredGoals();
+        evaluation.uncovered = manager.getUncoveredGoals();
+        evaluation.solutions = new LinkedHashMap<>();
+        for (TestFitnessFunction goal : evaluation.covered) {
+            evaluation.solutions.put(goal, Archive.getArchiveInstance().getSolution(goal).getTestCase().toCode());
+        }
+        return evaluation;
+    }
+
+    private static class Evaluation {
+        Map<FitnessFunction<TestChromosome>, Double> fitness;
+        Set<TestFitnessFunction> coveredByTest;
+        Set<TestFitnessFunction> currentGoals;
+        Set<TestFitnessFunction> covered;
+        Set<TestFitnessFunction> uncovered;
+        Map<TestFitnessFunction, String> solutions;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.operators.ranking;
+
+import org.evosuite.ga.DummyChromosome;
+import org.evosuite.ga.FitnessFunction;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class RankingFunctionTest {
+
+    private static class Goal extends FitnessFunction<DummyChromosome> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public double getFitness(DummyChromosome individual) {
+            throw new IllegalStateException("Fitness values are set by the test");
+        }
+
+        @Override
+        public boolean isMaximizationFunction() {
+            return false;
+        }
+    }
+
+    private final Goal goal1 = new Goal();
+    private final Goal goal2 = new Goal();
+    private final Set<FitnessFunction<DummyChromosome>> goals = new LinkedHashSet<>(Arrays.asList(goal1, goal2));
+
+    private final DummyChromosome a = create(1, 0, 5);
+    private final DummyChromosome b = create(2, 5, 0);
+    private final DummyChromosome c = create(3, 1, 6);
+    private final DummyChromosome d = create(4, 6, 6);
+
+    private DummyChromosome create(int id, double fitness1, double fitness2) {
+        DummyChromosome chromosome = new DummyChromosome(id);
+        chromosome.addFitness(goal1, fitness1);
+        chromosome.addFitness(goal2, fitness2);
+        return chromosome;
+    }
+
+    @Test
+    public void testFastNonDominatedSorting() {
+        FastNonDominatedSorting<DummyChromosome> sorting = new FastNonDominatedSorting<>();
+        List<DummyChromosome> solutions = Arrays.asList(d, c, b, a);
+        sorting.computeRankingAssignment(solutions, goals);
+
+        assertEquals(3, sorting.getNumberOfSubfronts());
+        assertEquals(Arrays.asList(b, a), sorting.getSubfront(0));
+        assertEquals(Arrays.asList(c), sorting.getSubfront(1));
+        assertEquals(Arrays.asList(d), sorting.getSubfront(2));
+        assertEquals(1, a.getRank());
+        assertEquals(2, c.getRank());
+        assertEquals(3, d.getRank());
+    }
+
+    @Test
+    public void testRankBasedPreferenceSorting() {
+        RankBasedPreferenceSorting<DummyChromosome> sorting = new RankBasedPreferenceSorting<>();
+        List<DummyChromosome> solutions = Arrays.asList(d, c, b, a);
+        sorting.computeRankingAssignment(solutions, goals);
+
+        assertEquals(3, sorting.getNumberOfSubfronts());
+        assertEquals(Arrays.asList(a, b), sorting.getSubfront(0));
+        assertEquals(Arrays.asList(c), sorting.getSubfront(1));
+        assertEquals(Arrays.asList(d), sorting.getSubfront(2));
+        assertEquals(0, b.getRank());
+        assertEquals(1, c.getRank());
+        assertEquals(2, d.getRank());
+    }
+
+    @Test
+    public void testRankBasedPreferenceSortingWithOffspring() {
+        RankBasedPreferenceSorting<DummyChromosome> sorting = new RankBasedPreferenceSorting<>();
+        sorting.computeRankingAssignment(Arrays.asList(d, c, b, a), goals);
+
+        // e improves on goal1 only, f is dominated by everything
+        DummyChromosome e = create(5, -1, 7);
+        DummyChromosome f = create(6, 7, 7);
+        sorting.computeRankingAssignment(Arrays.asList(a, b, c, e, f), goals);
+
+        assertEquals(Arrays.asList(e, b), sorting.getSubfront(0));
+        assertEquals(Arrays.asList(a), sorting.getSubfront(1));
+        assertEquals(Arrays.asList(c), sorting.getSubfront(2));
+        assertEquals(Arrays.asList(f), sorting.getSubfront(3));
+    }
+
+    @Test
+    public void testRankBasedPreferenceSortingAfterBestIsRemoved() {
+        RankBasedPreferenceSorting<DummyChromosome> sorting = new RankBasedPreferenceSorting<>();
+        sorting.computeRankingAssignment(Arrays.asList(d, c, b, a), goals);
+
+        // a was the best for goal1, so c is now the best one among the old solutions
+        sorting.computeRankingAssignment(Arrays.asList(b, c, d), goals);
+
+        assertEquals(Arrays.asList(c, b), sorting.getSubfront(0));
+        assertEquals(Arrays.asList(d), sorting.getSubfront(1));
+    }
+
+    @Test
+    public void testRankBasedPreferenceSortingDropsCoveredGoals() {
+        RankBasedPreferenceSorting<DummyChromosome> sorting = new RankBasedPreferenceSorting<>();
+        sorting.computeRankingAssignment(Arrays.asList(d, c, b, a), goals);
+
+        // goal2 has been covered
+        Set<FitnessFunction<DummyChromosome>> remainingGoals = new LinkedHashSet<>(Arrays.asList(goal1));
+        sorting.computeRankingAssignment(Arrays.asList(d, c, b, a), remainingGoals);
+
+        assertEquals(Arrays.asList(a), sorting.getSubfront(0));
+        assertEquals(Arrays.asList(c), sorting.getSubfront(1));
+        assertEquals(Arrays.asList(b), sorting.getSubfront(2));
+        assertEquals(Arrays.asList(d), sorting.getSubfront(3));
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class InMemoryJavaCompilerTest {
+
+    private InMemoryJavaCompiler compiler;
+
+    @Before
+    public void init() {
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        Assume.assumeNotNull(javac);
+        compiler = new InMemoryJavaCompiler(javac, System.getProperty("java.class.path"));
+    }
+
+    @Test
+    public void testCompileWithNestedClass() throws Exception {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("foo.Bar", "package foo; public class Bar { Runnable r = new Runnable() { public void run() {} }; }");
+
+        InMemoryJavaCompiler.Result result = compiler.compile(sources);
+
+        assertTrue(result.isSuccessful());
+        assertTrue(result.getErrors().isEmpty());
+        assertTrue(result.getClasses().containsKey("foo.Bar"));
+        assertTrue(result.getClasses().containsKey("foo.Bar$1"));
+
+        InMemoryClassLoader loader = new InMemoryClassLoader(result.getClasses());
+        assertEquals("foo.Bar", loader.loadClass("foo.Bar").getName());
+    }
+
+    @Test
+    public void testErrorsAreMappedToTheirSource() throws Exception {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("foo.Good", "package foo; public class Good { int x = 0; }");
+        sources.put("foo.Broken", "package foo; public class Broken { int x = \"not an int\"; }");
+        sources.put("foo.AlsoGood", "package foo; public class AlsoGood { Good g = new Good(); }");
+
+        InMemoryJavaCompiler.Result result = compiler.compile(sources);
+
+        assertFalse(result.isSuccessful());
+        assertEquals(1, result.getErrors().size());
+        assertTrue(result.getErrors().containsKey("foo.Broken"));
+        assertTrue(result.getUnattributedErrors().isEmpty());
+    }
+
+    @Test
+    public void testAllErrorsAreReportedInLargeBatch() throws Exception {
+        int broken = 150;
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (int i = 0; i < broken; i++) {
+            sources.put("foo.Broken" + i, "package foo; public class Broken" + i + " { int x = \"not an int\"; }");
+        }
+        sources.put("foo.Good", "package foo; public class Good { int x = 0; }");
+
+        InMemoryJavaCompiler.Result result = compiler.compile(sources);
+
+        assertFalse(result.isSuccessful());
+        assertEquals(broken, result.getErrors().size());
+        for (int i = 0; i < broken; i++) {
+            assertTrue(result.getErrors().containsKey("foo.Broken" + i));
+        }
+        assertFalse(result.getErrors().containsKey("foo.Good"));
+    }
+
+    @Test
+    public void testFlowErrorsAreReportedWithAttributionErrors() throws Exception {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("foo.Broken", "package foo; public class Broken { int x = \"not an int\"; }");
+        sources.put("foo.Unreported", "package foo; public class Unreported { "
+                + "void test() { throw new Exception(); } }");
+        sources.put("foo.MissingReturn", "package foo; public class MissingReturn { "
+                + "int test() { } }");
+        sources.put("foo.Uninitialized", "package foo; public class Uninitialized { "
+                + "int test() { int x; return x; } }");
+        sources.put("foo.Good", "package foo; public class Good { int x = 0; }");
+
+        InMemoryJavaCompiler.Result result = compiler.compile(sources);
+
+        assertFalse(result.isSuccessful());
+        assertEquals(4, result.getErrors().size());
+        assertTrue(result.getErrors().containsKey("foo.Broken"));
+        assertTrue(result.getErrors().containsKey("foo.Unreported"));
+        assertTrue(result.getErrors().containsKey("foo.MissingReturn"));
+        assertTrue(result.getErrors().containsKey("foo.Uninitialized"));
+        assertFalse(result.getErrors().containsKey("foo.Good"));
+    }
+
+    private static class InMemoryClassLoader extends ClassLoader {
+
+        private final Map<String, byte[]> classes;
+
+        InMemoryClassLoader(Map<String, byte[]> classes) {
+            this.classes = classes;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classes.get(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.expr;
+
+import org.evosuite.symbolic.expr.bv.IntegerBinaryExpression;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.expr.constraint.IntegerConstraint;
+import org.junit.Test;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AbstractExpressionTest {
+
+    @Test
+    public void testVariablesAreCached() {
+        IntegerVariable x = new IntegerVariable("x", 1, Long.MIN_VALUE, Long.MAX_VALUE);
+        IntegerVariable y = new IntegerVariable("y", 2, Long.MIN_VALUE, Long.MAX_VALUE);
+        IntegerBinaryExpression sum = new IntegerBinaryExpression(x, Operator.PLUS, y, 3L);
+        IntegerBinaryExpression expr = new IntegerBinaryExpression(sum, Operator.MUL, x, 3L);
+
+        Set<Variable<?>> variables = expr.getVariables();
+        assertEquals(2, variables.size());
+        assertTrue(variables.contains(x));
+        assertTrue(variables.contains(y));
+        assertSame(variables, expr.getVariables());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testVariablesAreUnmodifiable() {
+        IntegerVariable x = new IntegerVariable("x", 1, Long.MIN_VALUE, Long.MAX_VALUE);
+        x.getVariables().clear();
+    }
+
+    @Test
+    public void testHashCodeIsStructural() {
+        IntegerVariable x1 = new IntegerVariable("x", 1, Long.MIN_VALUE, Long.MAX_VALUE);
+        IntegerVariable x2 = new IntegerVariable("x", 5, Long.MIN_VALUE, Long.MAX_VALUE);
+        IntegerBinaryExpression left = new IntegerBinaryExpression(x1, Operator.PLUS, new IntegerConstant(1), 2L);
+        IntegerBinaryExpression right = new IntegerBinaryExpression(x2, Operator.PLUS, new IntegerConstant(1), 6L);
+
+        assertEquals(left, right);
+        assertEquals(left.hashCode(), right.hashCode());
+        assertEquals(left.hashCode(), left.hashCode());
+    }
+
+    @Test
+    public void testConstraintVariablesAndEquality() {
+        IntegerVariable x = new IntegerVariable("x", 1, Long.MIN_VALUE, Long.MAX_VALUE);
+        IntegerConstraint c1 = new IntegerConstraint(x, Comparator.LT, new IntegerConstant(10));
+        IntegerConstraint c2 = new IntegerConstraint(x, Comparator.LT, new IntegerConstant(10));
+        IntegerConstraint c3 = new IntegerConstraint(x, Comparator.LT, new IntegerConstant(11));
+
+        assertEquals(c1, c2);
+        assertNotEquals(c1, c3);
+        assertEquals(1, c1.getVariables().size());
+        assertSame(c1.getVariables(), c1.getVariables());
+    }
+}
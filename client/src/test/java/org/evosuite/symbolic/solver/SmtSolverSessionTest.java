@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.symbolic.solver.smt.SmtAssertion;
+import org.evosuite.symbolic.solver.smt.SmtQuery;
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.evosuite.symbolic.solver.SmtExprBuilder.mkGt;
+import static org.evosuite.symbolic.solver.SmtExprBuilder.mkIntConstant;
+import static org.evosuite.symbolic.solver.SmtExprBuilder.mkIntConstantDeclaration;
+import static org.evosuite.symbolic.solver.SmtExprBuilder.mkIntVariable;
+import static org.evosuite.symbolic.solver.SmtExprBuilder.mkLt;
+import static org.evosuite.symbolic.solver.SmtExprBuilder.mkRealConstantDeclaration;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SmtSolverSessionTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static SmtQuery createQuery(boolean negateLast) {
+        SmtQuery query = new SmtQuery();
+        query.addOption(":timeout", "1000");
+        query.addConstantDeclaration(mkIntConstantDeclaration("x"));
+        query.addConstantDeclaration(mkIntConstantDeclaration("y"));
+        query.addAssertion(new SmtAssertion(mkGt(mkIntVariable("x"), mkIntConstant(0))));
+        query.addAssertion(new SmtAssertion(mkGt(mkIntVariable("y"), mkIntVariable("x"))));
+        if (negateLast) {
+            query.addAssertion(new SmtAssertion(mkGt(mkIntVariable("y"), mkIntConstant(10))));
+        } else {
+            query.addAssertion(new SmtAssertion(mkLt(mkIntVariable("y"), mkIntConstant(10))));
+        }
+        return query;
+    }
+
+    @Test
+    public void testFirstQueryDeclaresAndAssertsEverything() {
+        SmtSolverSession session = new SmtSolverSession("z3 -smt2 -in");
+        String commands = session.buildCommands(createQuery(false));
+
+        assertTrue(commands.contains("(set-option :timeout 1000)"));
+        assertTrue(commands.contains("(declare-const x Int)"));
+        assertTrue(commands.contains("(declare-const y Int)"));
+        assertFalse(commands.contains("(pop"));
+        assertEquals(3, countOccurrences(commands, "(push 1)"));
+        assertEquals(3, countOccurrences(commands, "(assert "));
+        assertEquals(3, session.getNumberOfScopes());
+    }
+
+    @Test
+    public void testOnlyLastBranchIsReplaced() {
+        SmtSolverSession session = new SmtSolverSession("z3 -smt2 -in");
+        session.buildCommands(createQuery(false));
+        String commands = session.buildCommands(createQuery(true));
+
+        assertFalse(commands.contains("set-option"));
+        assertFalse(commands.contains("declare-const"));
+        assertTrue(commands.startsWith("(pop 1)"));
+        assertEquals(1, countOccurrences(commands, "(push 1)"));
+        assertEquals(1, countOccurrences(commands, "(assert "));
+        assertEquals(3, session.getNumberOfScopes());
+    }
+
+    @Test
+    public void testRepeatedQuerySendsNothing() {
+        SmtSolverSession session = new SmtSolverSession("z3 -smt2 -in");
+        session.buildCommands(createQuery(false));
+
+        assertEquals("", session.buildCommands(createQuery(false)));
+    }
+
+    @Test
+    public void testRedeclaredConstantPopsItsScope() {
+        SmtSolverSession session = new SmtSolverSession("z3 -smt2 -in");
+        session.buildCommands(createQuery(false));
+
+        SmtQuery query = new SmtQuery();
+        query.addOption(":timeout", "1000");
+        query.addConstantDeclaration(mkIntConstantDeclaration("x"));
+        query.addConstantDeclaration(mkRealConstantDeclaration("y"));
+        query.addAssertion(new SmtAssertion(mkGt(mkIntVariable("x"), mkIntConstant(0))));
+        String commands = session.buildCommands(query);
+
+        assertTrue(commands.startsWith("(pop 3)"));
+        assertTrue(commands.contains("(declare-const x Int)"));
+        assertTrue(commands.contains("(declare-const y Real)"));
+        assertEquals(1, session.getNumberOfScopes());
+    }
+
+    @Test
+    public void testRestartAfterTimeoutIgnoresOutputOfOldProcess() throws Exception {
+        Assume.assumeTrue(SystemUtils.IS_OS_UNIX);
+
+        /*
+         * The first process never answers, and a child of it keeps its
+         * output open for a while after it is killed. The second process
+         * answers once the output of the first one is closed.
+         */
+        File marker = new File(folder.getRoot(), "started");
+        File script = folder.newFile("solver.sh");
+        String code = "if [ ! -f \"$1\" ]; then\n"
+                + "  touch \"$1\"\n"
+                + "  sleep 2 &\n"
+                + "  exec sleep 10\n"
+                + "fi\n"
+                + "while read line; do\n"
+                + "  case \"$line\" in\n"
+                + "    *echo*) sleep 2; echo unsat; echo evosuite-end-of-response;;\n"
+                + "  esac\n"
+                + "done\n";
+        Files.write(script.toPath(), code.getBytes(StandardCharsets.UTF_8));
+
+        SmtSolverSession session = new SmtSolverSession("sh " + script.getAbsolutePath() + " " + marker.getAbsolutePath());
+        try {
+            try {
+                session.solve(createQuery(false), 0);
+                fail("Expected a timeout");
+            } catch (SolverTimeoutException e) {
+                // expected
+            }
+
+            assertEquals("unsat\n", session.solve(createQuery(false), 10000));
+        } finally {
+            session.close();
+        }
+    }
+
+    @Test
+    public void testBusySessionsAreNotShared() {
+        try {
+            SmtSolverSession first = SmtSolverSession.acquire("z3 -smt2 -in");
+            SmtSolverSession second = SmtSolverSession.acquire("z3 -smt2 -in");
+            assertNotSame(first, second);
+            assertNotSame(first, SmtSolverSession.acquire("cvc4 --lang smt"));
+
+            SmtSolverSession.release(second);
+            assertSame(second, SmtSolverSession.acquire("z3 -smt2 -in"));
+
+            SmtSolverSession.closeAll();
+            SmtSolverSession.release(first);
+            assertNotSame(first, SmtSolverSession.acquire("z3 -smt2 -in"));
+        } finally {
+            SmtSolverSession.closeAll();
+        }
+    }
+
+    private static int countOccurrences(String text, String token) {
+        int count = 0;
+        for (int index = text.indexOf(token); index >= 0; index = text.indexOf(token, index + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
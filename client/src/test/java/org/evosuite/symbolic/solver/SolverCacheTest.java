@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.Properties;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.vm.ConstraintFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SolverCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String cacheFile;
+
+    private int cacheSize;
+
+    @Before
+    public void setUp() {
+        cacheFile = Properties.DSE_SOLVER_CACHE_FILE;
+        cacheSize = Properties.DSE_SOLVER_CACHE_SIZE;
+        SolverCache.getInstance().clear();
+    }
+
+    @After
+    public void tearDown() {
+        Properties.DSE_SOLVER_CACHE_FILE = cacheFile;
+        Properties.DSE_SOLVER_CACHE_SIZE = cacheSize;
+        SolverCache.getInstance().clear();
+    }
+
+    private static List<Constraint<?>> createConstraints(long concreteValue) {
+        IntegerVariable x = new IntegerVariable("x", concreteValue, Long.MIN_VALUE, Long.MAX_VALUE);
+        IntegerVariable y = new IntegerVariable("y", concreteValue, Long.MIN_VALUE, Long.MAX_VALUE);
+        return new ArrayList<>(Arrays.asList(
+                ConstraintFactory.lt(x, new IntegerConstant(10)),
+                ConstraintFactory.gte(y, x)));
+    }
+
+    private static SolverResult createModel(long x, long y) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("x", x);
+        model.put("y", y);
+        return SolverResult.newSAT(model);
+    }
+
+    @Test
+    public void testKeyIgnoresOrderAndConcreteValues() {
+        List<Constraint<?>> constraints = createConstraints(1);
+        List<Constraint<?>> reordered = createConstraints(42);
+        Collections.reverse(reordered);
+
+        assertEquals(SolverCache.getCanonicalKey(constraints), SolverCache.getCanonicalKey(reordered));
+    }
+
+    @Test
+    public void testEquivalentConstraintsHit() {
+        SolverCache cache = SolverCache.getInstance();
+        cache.saveSolverResult(createConstraints(1), createModel(3, 5));
+
+        Collection<Constraint<?>> reordered = createConstraints(42);
+        Collections.reverse((List<Constraint<?>>) reordered);
+        assertTrue(cache.hasCachedResult(reordered));
+        assertEquals(3L, cache.getCachedResult().getValue("x"));
+    }
+
+    @Test
+    public void testInvalidModelIsNotReturned() {
+        SolverCache cache = SolverCache.getInstance();
+        cache.saveSolverResult(createConstraints(1), createModel(3, 2));
+
+        assertFalse(cache.hasCachedResult(createConstraints(1)));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        Properties.DSE_SOLVER_CACHE_SIZE = 1;
+        SolverCache cache = SolverCache.getInstance();
+        IntegerVariable x = new IntegerVariable("x", 0L, Long.MIN_VALUE, Long.MAX_VALUE);
+        Collection<Constraint<?>> first = Collections.singletonList(ConstraintFactory.neq(x, x));
+        Collection<Constraint<?>> second = Collections.singletonList(ConstraintFactory.lt(x, x));
+        cache.saveSolverResult(first, SolverResult.newUNSAT());
+        cache.saveSolverResult(second, SolverResult.newUNSAT());
+
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getNumberOfEvictions());
+        assertFalse(cache.hasCachedResult(first));
+        assertTrue(cache.hasCachedResult(second));
+    }
+
+    @Test
+    public void testResultsArePersisted() {
+        File file = new File(folder.getRoot(), "solver.cache");
+        Properties.DSE_SOLVER_CACHE_FILE = file.getAbsolutePath();
+        SolverCache cache = SolverCache.getInstance();
+        cache.saveSolverResult(createConstraints(1), createModel(3, 5));
+        cache.save();
+        assertTrue(file.exists());
+
+        cache.clear();
+        assertTrue(cache.hasCachedResult(createConstraints(7)));
+        assertEquals(5L, cache.getCachedResult().getValue("y"));
+        assertEquals(1, cache.getNumberOfPersistedHits());
+    }
+
+    @Test
+    public void testResultIsSavedForModifiedCollection() {
+        SolverCache cache = SolverCache.getInstance();
+        IntegerVariable x = new IntegerVariable("x", 0L, Long.MIN_VALUE, Long.MAX_VALUE);
+        List<Constraint<?>> query = createConstraints(1);
+        assertFalse(cache.hasCachedResult(query));
+
+        // e.g. bounds added to the query after the lookup
+        query.add(ConstraintFactory.gte(x, new IntegerConstant(0)));
+        cache.saveSolverResult(query, createModel(3, 5));
+
+        assertFalse(cache.hasCachedResult(createConstraints(1)));
+        List<Constraint<?>> withBounds = createConstraints(1);
+        withBounds.add(ConstraintFactory.gte(x, new IntegerConstant(0)));
+        assertTrue(cache.hasCachedResult(withBounds));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.symbolic.BranchCondition;
+import org.evosuite.symbolic.PathCondition;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.vm.ConstraintFactory;
+import org.evosuite.symbolic.vm.ExpressionFactory;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SolverUtilsTest {
+
+    private static IntegerVariable newVariable(String name) {
+        return new IntegerVariable(name, 0, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    private static BranchCondition newBranchCondition(Constraint<?> constraint) {
+        return new BranchCondition("Foo", "bar()V", 0, constraint, Collections.emptyList());
+    }
+
+    private static PathCondition newPathCondition(Constraint<?>... constraints) {
+        List<BranchCondition> branchConditions = new ArrayList<>();
+        for (Constraint<?> constraint : constraints) {
+            branchConditions.add(newBranchCondition(constraint));
+        }
+        return new PathCondition(branchConditions);
+    }
+
+    @Test
+    public void testIndependentConstraintsAreSliced() {
+        IntegerVariable x = newVariable("x");
+        IntegerVariable y = newVariable("y");
+        IntegerConstant zero = ExpressionFactory.buildNewIntegerConstant(0);
+
+        Constraint<?> onX = ConstraintFactory.gte(x, zero);
+        Constraint<?> onY = ConstraintFactory.gte(y, zero);
+        Constraint<?> target = ConstraintFactory.lt(x, ExpressionFactory.buildNewIntegerConstant(10));
+
+        List<Constraint<?>> query = SolverUtils.buildQueryNegatingIthCondition(newPathCondition(onX, onY, target), 2);
+
+        assertEquals(2, query.size());
+        assertEquals(onX, query.get(0));
+        assertEquals(target.negate(), query.get(1));
+    }
+
+    @Test
+    public void testTransitivelyConnectedConstraintsAreKept() {
+        IntegerVariable x = newVariable("x");
+        IntegerVariable y = newVariable("y");
+        IntegerVariable z = newVariable("z");
+        IntegerConstant zero = ExpressionFactory.buildNewIntegerConstant(0);
+
+        // y only becomes relevant through the first constraint, which comes
+        // before the constraint on y in the path condition
+        Constraint<?> linksXandY = ConstraintFactory.lt(x, y);
+        Constraint<?> onY = ConstraintFactory.gte(y, zero);
+        Constraint<?> onZ = ConstraintFactory.gte(z, zero);
+        Constraint<?> target = ConstraintFactory.lt(x, zero);
+
+        List<Constraint<?>> query = SolverUtils.buildQueryNegatingIthCondition(
+                newPathCondition(linksXandY, onY, onZ, target), 3);
+
+        assertEquals(3, query.size());
+        assertEquals(linksXandY, query.get(0));
+        assertEquals(onY, query.get(1));
+        assertEquals(target.negate(), query.get(2));
+    }
+
+    @Test
+    public void testConstantTargetYieldsEmptyQuery() {
+        IntegerVariable x = newVariable("x");
+        IntegerConstant zero = ExpressionFactory.buildNewIntegerConstant(0);
+
+        Constraint<?> onX = ConstraintFactory.gte(x, zero);
+        Constraint<?> target = ConstraintFactory.lt(zero, ExpressionFactory.buildNewIntegerConstant(1));
+
+        List<Constraint<?>> query = SolverUtils.buildQueryNegatingIthCondition(newPathCondition(onX, target), 1);
+        assertTrue(query.isEmpty());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcarver.capture;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class CapturerTest {
+
+    public static class Person {
+        private String name;
+        private Class<?> type;
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public void setType(Class<?> type) {
+            this.type = type;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Capturer.clear();
+    }
+
+    @After
+    public void tearDown() {
+        Capturer.clear();
+    }
+
+    private static CaptureLog capturePerson() {
+        Person person = new Person();
+        Capturer.startCapture();
+        Capturer.capture(1, person, CaptureLog.OBSERVED_INIT, "()V", new Object[0]);
+        Capturer.enable(1, person, CaptureLog.RETURN_TYPE_VOID);
+        Capturer.capture(2, person, "setName", "(Ljava/lang/String;)V", new Object[]{"Joe"});
+        Capturer.enable(2, person, CaptureLog.RETURN_TYPE_VOID);
+        Capturer.capture(3, person, "setType", "(Ljava/lang/Class;)V", new Object[]{int.class});
+        Capturer.enable(3, person, CaptureLog.RETURN_TYPE_VOID);
+        Capturer.capture(4, person, "equals", "(Ljava/lang/Object;)Z", new Object[]{new Person()});
+        Capturer.enable(4, person, Boolean.FALSE);
+        return Capturer.stopCapture();
+    }
+
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        CaptureLog log = capturePerson();
+        assertNotNull(log);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Capturer.save(out);
+        Capturer.clear();
+
+        Capturer.load(new ByteArrayInputStream(out.toByteArray()));
+        List<CaptureLog> logs = Capturer.getCaptureLogs();
+        assertEquals(1, logs.size());
+        assertEquals(log.toString(), logs.get(0).toString());
+        assertEquals(log.objectIds, logs.get(0).objectIds);
+        assertEquals(log.captureIds, logs.get(0).captureIds);
+        assertEquals(log.returnValues, logs.get(0).returnValues);
+    }
+
+    @Test
+    public void testLoadAppendedBlocks() throws Exception {
+        CaptureLog log = capturePerson();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Capturer.save(out);
+        byte[] block = out.toByteArray();
+        out.write(block);
+        Capturer.clear();
+
+        Capturer.load(new ByteArrayInputStream(out.toByteArray()));
+        List<CaptureLog> logs = Capturer.getCaptureLogs();
+        assertEquals(2, logs.size());
+        assertEquals(log.toString(), logs.get(1).toString());
+    }
+
+    @Test
+    public void testCloneKeepsRecords() {
+        CaptureLog log = capturePerson();
+        CaptureLog clone = log.clone();
+        assertEquals(log.toString(), clone.toString());
+
+        clone.objectIds.set(0, 42);
+        assertEquals(Integer.valueOf(42), clone.objectIds.get(0));
+        assertEquals(log.objectIds.size(), clone.objectIds.size());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase;
+
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestCaseMinimizerTest {
+
+    /**
+     * Covered as long as the test still defines the int 42, without
+     * executing the test
+     */
+    private static class ContainsValueFitness extends TestFitnessFunction {
+
+        private static final long serialVersionUID = 1L;
+
+        private int evaluations = 0;
+
+        @Override
+        public double getFitness(TestChromosome individual) {
+            evaluations++;
+            double fitness = 1.0;
+            for (Statement statement : individual.getTestCase()) {
+                if (statement instanceof IntPrimitiveStatement
+                        && ((IntPrimitiveStatement) statement).getValue() == 42) {
+                    fitness = 0.0;
+                }
+            }
+            updateIndividual(individual, fitness);
+            individual.setChanged(false);
+            return fitness;
+        }
+
+        @Override
+        public double getFitness(TestChromosome individual, ExecutionResult result) {
+            return getFitness(individual);
+        }
+
+        @Override
+        public int compareTo(TestFitnessFunction other) {
+            return 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other == this;
+        }
+
+        @Override
+        public String getTargetClass() {
+            return "";
+        }
+
+        @Override
+        public String getTargetMethod() {
+            return "";
+        }
+    }
+
+    @Test
+    public void testMinimizeLongTest() {
+        DefaultTestCase test = new DefaultTestCase();
+        for (int i = 0; i < 64; i++) {
+            test.addStatement(new IntPrimitiveStatement(test, i == 40 ? 42 : i));
+        }
+        TestChromosome chromosome = new TestChromosome();
+        chromosome.setTestCase(test);
+
+        ContainsValueFitness fitness = new ContainsValueFitness();
+        fitness.getFitness(chromosome);
+        fitness.evaluations = 0;
+
+        TestCaseMinimizer minimizer = new TestCaseMinimizer(fitness);
+        minimizer.minimize(chromosome);
+
+        assertEquals(1, chromosome.getTestCase().size());
+        assertEquals(42, (int) ((IntPrimitiveStatement) chromosome.getTestCase().getStatement(0)).getValue());
+        // removing statements one at a time would need at least one evaluation per statement
+        assertTrue("Too many evaluations: " + fitness.evaluations, fitness.evaluations < 64);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DenseIdMapTest {
+
+    private static final double DELTA = 0.0;
+
+    @Test
+    public void testPutMinAndAdd() {
+        BranchDistanceMap min = new BranchDistanceMap();
+        BranchDistanceMap sum = new BranchDistanceMap();
+        for (double d : new double[]{3.0, 1.0, 2.0}) {
+            min.putMin(7, d);
+            sum.add(7, d);
+        }
+        Assert.assertEquals(1, min.size());
+        Assert.assertTrue(min.containsId(7));
+        Assert.assertFalse(min.containsId(6));
+        Assert.assertEquals(1.0, min.getDistance(7), DELTA);
+        Assert.assertEquals(1.0, min.get(7), DELTA);
+        Assert.assertEquals(6.0, sum.get(7), DELTA);
+        Assert.assertNull(min.get(6));
+    }
+
+    @Test
+    public void testIncrementGrowsBeyondInitialCapacity() {
+        BranchCountMap counts = new BranchCountMap();
+        counts.increment(1000);
+        counts.increment(1000);
+        counts.increment(3);
+        Assert.assertEquals(2, counts.size());
+        Assert.assertEquals(Integer.valueOf(2), counts.get(1000));
+        Assert.assertEquals(Integer.valueOf(1), counts.get(3));
+    }
+
+    @Test
+    public void testClearOnlyResetsTouchedSlots() {
+        BranchCountMap counts = new BranchCountMap();
+        counts.increment(5);
+        counts.increment(5);
+        counts.clear();
+        Assert.assertTrue(counts.isEmpty());
+        Assert.assertFalse(counts.containsId(5));
+        counts.increment(5);
+        Assert.assertEquals(Integer.valueOf(1), counts.get(5));
+    }
+
+    @Test
+    public void testIterationInAscendingOrder() {
+        BranchDistanceMap map = new BranchDistanceMap();
+        map.putMin(42, 1.0);
+        map.putMin(2, 0.0);
+        map.putMin(17, 3.0);
+        List<Integer> keys = new ArrayList<>(map.keySet());
+        Assert.assertEquals(Arrays.asList(2, 17, 42), keys);
+    }
+
+    @Test
+    public void testEqualsHashMap() {
+        BranchDistanceMap map = new BranchDistanceMap();
+        map.putMin(1, 0.5);
+        map.putMin(9, 2.0);
+        Map<Integer, Double> expected = new HashMap<>();
+        expected.put(1, 0.5);
+        expected.put(9, 2.0);
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(expected.hashCode(), map.hashCode());
+
+        BranchDistanceMap copy = new BranchDistanceMap();
+        copy.putAll(map);
+        Assert.assertEquals(map, copy);
+    }
+
+    @Test
+    public void testRemove() {
+        BranchCountMap counts = new BranchCountMap();
+        counts.increment(1);
+        counts.increment(2);
+        Assert.assertEquals(Integer.valueOf(1), counts.remove(1));
+        Assert.assertNull(counts.remove(1));
+        Assert.assertEquals(1, counts.size());
+        Assert.assertFalse(counts.containsKey(1));
+        Assert.assertTrue(counts.containsKey(2));
+    }
+
+    @Test
+    public void testClearKeepsArrays() {
+        BranchDistanceMap map = new BranchDistanceMap();
+        map.putMin(1000, 1.0);
+        int capacity = map.capacity();
+        map.clear();
+        Assert.assertEquals(capacity, map.capacity());
+        map.putMin(999, 2.0);
+        Assert.assertEquals(capacity, map.capacity());
+        Assert.assertEquals(2.0, map.getDistance(999), DELTA);
+        Assert.assertFalse(map.containsId(1000));
+    }
+
+    @Test
+    public void testCompactCopy() {
+        BranchDistanceMap map = new BranchDistanceMap();
+        map.putMin(1000, 1.0);
+        map.putMin(3, 2.0);
+        map.putMin(500, 0.5);
+
+        BranchDistanceMap copy = map.compactCopy();
+        Assert.assertEquals(3, copy.capacity());
+        Assert.assertEquals(map, copy);
+        Assert.assertEquals(Arrays.asList(3, 500, 1000), new ArrayList<>(copy.keySet()));
+        Assert.assertEquals(0.5, copy.getDistance(500), DELTA);
+        Assert.assertFalse(copy.containsId(4));
+        Assert.assertNull(copy.get(4));
+
+        map.clear();
+        Assert.assertEquals(1.0, copy.getDistance(1000), DELTA);
+    }
+
+    @Test
+    public void testCompactCopyCanBeModified() {
+        BranchCountMap counts = new BranchCountMap();
+        counts.increment(1);
+        counts.increment(7);
+        counts.increment(7);
+        counts.increment(20);
+
+        BranchCountMap copy = counts.compactCopy();
+        copy.increment(7);
+        copy.increment(2);
+        Assert.assertEquals(Integer.valueOf(1), copy.get(1));
+        Assert.assertEquals(Integer.valueOf(3), copy.get(7));
+        Assert.assertEquals(Integer.valueOf(1), copy.get(20));
+        Assert.assertEquals(Integer.valueOf(1), copy.get(2));
+        Assert.assertEquals(Integer.valueOf(2), counts.get(7));
+
+        BranchCountMap other = counts.compactCopy();
+        Assert.assertEquals(Integer.valueOf(2), other.remove(7));
+        Assert.assertEquals(Arrays.asList(1, 20), new ArrayList<>(other.keySet()));
+
+        other.clear();
+        Assert.assertTrue(other.isEmpty());
+        other.increment(5);
+        Assert.assertEquals(Integer.valueOf(1), other.get(5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeId() {
+        new BranchCountMap().increment(-1);
+    }
+}
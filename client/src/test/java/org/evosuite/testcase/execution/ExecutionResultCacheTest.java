@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.evosuite.Properties;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.statements.AssignmentStatement;
+import org.evosuite.testcase.statements.FunctionalMockStatement;
+import org.evosuite.testcase.statements.FunctionalMockStatementTest;
+import org.evosuite.testcase.statements.MethodStatement;
+import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.variable.FieldReference;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.testcase.variable.VariableReferenceImpl;
+import org.evosuite.utils.generic.GenericClassFactory;
+import org.evosuite.utils.generic.GenericField;
+import org.evosuite.utils.generic.GenericMethod;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class ExecutionResultCacheTest {
+
+    public static class Fields {
+        public static int first;
+        public static int second;
+    }
+
+    private int cacheSize;
+
+    @Before
+    public void setUp() {
+        cacheSize = Properties.EXECUTION_CACHE_SIZE;
+        Properties.EXECUTION_CACHE_SIZE = 2;
+        ExecutionResultCache.getInstance().clear();
+    }
+
+    @After
+    public void tearDown() {
+        Properties.EXECUTION_CACHE_SIZE = cacheSize;
+        ExecutionResultCache.getInstance().clear();
+    }
+
+    private static DefaultTestCase createTest(int... values) {
+        DefaultTestCase test = new DefaultTestCase();
+        for (int value : values) {
+            test.addStatement(new IntPrimitiveStatement(test, value));
+        }
+        return test;
+    }
+
+    private static ExecutionResult createResult(DefaultTestCase test, Integer exceptionPosition) {
+        ExecutionResult result = new ExecutionResult(test);
+        result.setTrace(new ExecutionTraceProxy());
+        result.setExecutedStatements(exceptionPosition == null ? test.size() : exceptionPosition + 1);
+        if (exceptionPosition != null) {
+            result.reportNewThrownException(exceptionPosition, new IllegalStateException());
+        }
+        return result;
+    }
+
+    @Test
+    public void testPrefixBeforeExceptionIsReused() {
+        ExecutionResultCache cache = ExecutionResultCache.getInstance();
+        cache.put(createResult(createTest(1, 2, 3), 1));
+
+        DefaultTestCase appended = createTest(1, 2, 4, 5);
+        ExecutionResult result = cache.get(appended);
+        Assert.assertNotNull(result);
+        Assert.assertSame(appended, result.test);
+        Assert.assertEquals(Integer.valueOf(1), result.getFirstPositionOfThrownException());
+        Assert.assertEquals(2, result.getExecutedStatements());
+
+        Assert.assertNull(cache.get(createTest(1, 3, 3)));
+        Assert.assertEquals(1, cache.getNumberOfHits());
+        Assert.assertEquals(1, cache.getNumberOfMisses());
+    }
+
+    @Test
+    public void testCompleteExecutionOnlyMatchesSameTest() {
+        ExecutionResultCache cache = ExecutionResultCache.getInstance();
+        cache.put(createResult(createTest(1, 2), null));
+
+        Assert.assertNull(cache.get(createTest(1, 2, 3)));
+        Assert.assertNull(cache.get(createTest(1)));
+        Assert.assertNotNull(cache.get(createTest(1, 2)));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        ExecutionResultCache cache = ExecutionResultCache.getInstance();
+        cache.put(createResult(createTest(1), null));
+        cache.put(createResult(createTest(2), null));
+        Assert.assertNotNull(cache.get(createTest(1)));
+
+        cache.put(createResult(createTest(3), null));
+        Assert.assertEquals(2, cache.size());
+        Assert.assertNotNull(cache.get(createTest(1)));
+        Assert.assertNull(cache.get(createTest(2)));
+        Assert.assertNotNull(cache.get(createTest(3)));
+    }
+
+    @Test
+    public void testMutatingExecutedTestDoesNotAffectCache() {
+        ExecutionResultCache cache = ExecutionResultCache.getInstance();
+        DefaultTestCase test = createTest(1, 2, 3);
+        cache.put(createResult(test, 0));
+        ((IntPrimitiveStatement) test.getStatement(0)).setValue(7);
+        Assert.assertNull(cache.get(createTest(7, 7)));
+
+        test.remove(2);
+        test.remove(1);
+        test.remove(0);
+
+        ExecutionResult result = cache.get(createTest(1, 7));
+        Assert.assertNotNull(result);
+        Assert.assertEquals(Integer.valueOf(0), result.getFirstPositionOfThrownException());
+    }
+
+    @Test
+    public void testLookupDoesNotChangeFunctionalMocks() throws Exception {
+        DefaultTestCase test = new DefaultTestCase();
+        VariableReference loop = test.addStatement(new IntPrimitiveStatement(test, 3));
+        VariableReference ref = new VariableReferenceImpl(test, FunctionalMockStatementTest.Foo.class);
+        FunctionalMockStatement mock = new FunctionalMockStatement(test, ref,
+                GenericClassFactory.get(FunctionalMockStatementTest.Foo.class));
+        VariableReference foo = test.addStatement(mock);
+        test.addStatement(new MethodStatement(test,
+                new GenericMethod(FunctionalMockStatementTest.class.getDeclaredMethod("limit",
+                        FunctionalMockStatementTest.Foo.class, int.class), FunctionalMockStatementTest.class),
+                null, Arrays.asList(foo, loop)));
+
+        Scope scope = new Scope();
+        for (Statement statement : test) {
+            statement.execute(scope, System.out);
+        }
+        Assert.assertTrue(mock.doesNeedToUpdateInputs());
+
+        ExecutionResultCache cache = ExecutionResultCache.getInstance();
+        cache.put(createResult(test, null));
+        Assert.assertNotNull(cache.get(test));
+
+        // the mocked inputs are only to be updated by the mutation of the test
+        Assert.assertTrue(mock.doesNeedToUpdateInputs());
+        Assert.assertEquals(0, mock.getNumParameters());
+    }
+
+    private static DefaultTestCase createAssignment(String fieldName) throws Exception {
+        DefaultTestCase test = new DefaultTestCase();
+        VariableReference value = test.addStatement(new IntPrimitiveStatement(test, 1));
+        FieldReference field = new FieldReference(test,
+                new GenericField(Fields.class.getField(fieldName), Fields.class));
+        test.addStatement(new AssignmentStatement(test, field, value));
+        return test;
+    }
+
+    @Test
+    public void testDifferentFieldsAreDistinguished() throws Exception {
+        ExecutionResultCache cache = ExecutionResultCache.getInstance();
+        cache.put(createResult(createAssignment("first"), null));
+
+        Assert.assertNull(cache.get(createAssignment("second")));
+        Assert.assertNotNull(cache.get(createAssignment("first")));
+    }
+}
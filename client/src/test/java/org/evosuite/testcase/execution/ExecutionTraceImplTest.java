@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ExecutionTraceImplTest {
+
+    private static final double DELTA = 0.0;
+
+    @Test
+    public void testClearReusesBranchMaps() {
+        ExecutionTraceImpl trace = new ExecutionTraceImpl();
+        trace.branchPassed(1000, 0, 0.0, 1.0);
+        BranchDistanceMap trueDistances = trace.trueDistances;
+        BranchCountMap coveredPredicates = trace.coveredPredicates;
+        int capacity = trueDistances.capacity();
+
+        trace.clear();
+
+        Assert.assertSame(trueDistances, trace.trueDistances);
+        Assert.assertSame(coveredPredicates, trace.coveredPredicates);
+        Assert.assertTrue(trueDistances.isEmpty());
+        Assert.assertEquals(capacity, trueDistances.capacity());
+        Assert.assertEquals(capacity, coveredPredicates.capacity());
+
+        trace.branchPassed(999, 0, 2.0, 0.0);
+        Assert.assertEquals(capacity, trueDistances.capacity());
+        Assert.assertEquals(2.0, trace.getTrueDistance(999), DELTA);
+        Assert.assertFalse(trace.hasTrueDistance(1000));
+    }
+
+    @Test
+    public void testSnapshotIsCompactAndSurvivesClear() {
+        ExecutionTraceImpl trace = new ExecutionTraceImpl();
+        trace.branchPassed(1000, 0, 0.0, 1.0);
+        trace.branchPassed(3, 0, 2.0, 0.0);
+
+        ExecutionTraceImpl snapshot = trace.snapshot();
+        trace.clear();
+        trace.branchPassed(3, 0, 5.0, 0.0);
+
+        Assert.assertEquals(2, snapshot.trueDistances.capacity());
+        Assert.assertEquals(2, snapshot.coveredPredicates.capacity());
+        Assert.assertEquals(0.0, snapshot.getTrueDistance(1000), DELTA);
+        Assert.assertEquals(2.0, snapshot.getTrueDistance(3), DELTA);
+        Assert.assertEquals(1.0, snapshot.getFalseDistance(1000), DELTA);
+        Assert.assertTrue(snapshot.getCoveredTrueBranches().contains(1000));
+        Assert.assertTrue(snapshot.getCoveredFalseBranches().contains(3));
+        Assert.assertEquals(5.0, trace.getTrueDistance(3), DELTA);
+    }
+
+    @Test
+    public void testCloneIsCompact() {
+        ExecutionTraceImpl trace = new ExecutionTraceImpl();
+        trace.branchPassed(1000, 0, 0.0, 1.0);
+
+        ExecutionTraceImpl copy = trace.clone();
+
+        Assert.assertEquals(1, copy.trueDistances.capacity());
+        Assert.assertEquals(trace.getTrueDistances(), copy.getTrueDistances());
+        Assert.assertEquals(trace.getCoveredTrueBranches(), copy.getCoveredTrueBranches());
+    }
+}
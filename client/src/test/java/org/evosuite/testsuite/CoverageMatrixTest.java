@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testsuite;
+
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+
+public class CoverageMatrixTest {
+
+    /**
+     * Covered by any test defining the given int, without executing the test
+     */
+    private static class ValueGoal extends TestFitnessFunction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int value;
+
+        private int evaluations = 0;
+
+        ValueGoal(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean isCovered(TestChromosome tc) {
+            evaluations++;
+            for (Statement statement : tc.getTestCase()) {
+                if (((IntPrimitiveStatement) statement).getValue() == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public double getFitness(TestChromosome individual, ExecutionResult result) {
+            return isCovered(individual) ? 0.0 : 1.0;
+        }
+
+        @Override
+        public int compareTo(TestFitnessFunction other) {
+            return 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other == this;
+        }
+
+        @Override
+        public String getTargetClass() {
+            return "";
+        }
+
+        @Override
+        public String getTargetMethod() {
+            return "";
+        }
+    }
+
+    private static TestChromosome createTest(int... values) {
+        DefaultTestCase test = new DefaultTestCase();
+        for (int value : values) {
+            test.addStatement(new IntPrimitiveStatement(test, value));
+        }
+        TestChromosome chromosome = new TestChromosome();
+        chromosome.setTestCase(test);
+        return chromosome;
+    }
+
+    private static List<TestFitnessFunction> createGoals(int num) {
+        List<TestFitnessFunction> goals = new ArrayList<>();
+        for (int i = 0; i < num; i++) {
+            goals.add(new ValueGoal(i));
+        }
+        return goals;
+    }
+
+    @Test
+    public void testGoalsAreEvaluatedOnce() {
+        List<TestFitnessFunction> goals = createGoals(3);
+        CoverageMatrix matrix = new CoverageMatrix(goals);
+        matrix.addTest(createTest(0, 1));
+        matrix.addTest(createTest(1, 2));
+
+        for (int i = 0; i < 3; i++) {
+            matrix.getCoveringTests(i);
+        }
+        for (TestFitnessFunction goal : goals) {
+            assertEquals(2, ((ValueGoal) goal).evaluations);
+        }
+
+        assertEquals(BitSet.valueOf(new long[]{0b011}), matrix.getCoveredGoals(0));
+        assertEquals(BitSet.valueOf(new long[]{0b110}), matrix.getCoveredGoals(1));
+        assertEquals(BitSet.valueOf(new long[]{0b01}), matrix.getCoveringTests(0));
+        assertEquals(BitSet.valueOf(new long[]{0b11}), matrix.getCoveringTests(1));
+        assertEquals(BitSet.valueOf(new long[]{0b10}), matrix.getCoveringTests(2));
+    }
+
+    @Test
+    public void testGreedyCover() {
+        CoverageMatrix matrix = new CoverageMatrix(createGoals(6));
+        matrix.addTest(createTest(0, 1, 2));
+        matrix.addTest(createTest(3, 4));
+        matrix.addTest(createTest(0, 3));
+        matrix.addTest(createTest(1, 4, 5));
+        matrix.addTest(createTest(0, 2, 3));
+
+        // test 4 subsumes test 2, and is preferred over test 0 on the tie
+        assertEquals(new TreeSet<>(Arrays.asList(3, 4)), matrix.getGreedyCover());
+    }
+
+    @Test
+    public void testGreedyCoverSkipsUselessTests() {
+        CoverageMatrix matrix = new CoverageMatrix(createGoals(2));
+        matrix.addTest(createTest(7));
+        matrix.addTest(createTest(1));
+
+        assertEquals(Collections.singleton(1), matrix.getGreedyCover());
+    }
+}
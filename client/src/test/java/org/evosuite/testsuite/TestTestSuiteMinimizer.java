@@ -371,4 +371,68 @@ public class TestTestSuiteMinimizer {
         double branch_fitness = branch.getFitness(tsc);
         assertEquals(previous_branch_fitness, branch_fitness, 0.0);
     }
+
+    private TestSuiteChromosome createFlagExample1Suite() throws ClassNotFoundException, NoSuchMethodException, ConstructionFailedException {
+        Class<?> sut = TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(Properties.TARGET_CLASS);
+        GenericClass<?> clazz = GenericClassFactory.get(sut);
+
+        DefaultTestCase test = new DefaultTestCase();
+        GenericConstructor gc = new GenericConstructor(clazz.getRawClass().getConstructors()[0], clazz);
+
+        TestFactory testFactory = TestFactory.getInstance();
+        testFactory.addConstructor(test, gc, 0, 0);
+
+        for (int i = 0; i < 10; i++) {
+            IntPrimitiveStatement ips = new IntPrimitiveStatement(test, 28234 + i);
+            test.addStatement(ips, i + 1);
+        }
+
+        Method m = clazz.getRawClass().getMethod("testMe", new Class<?>[]{int.class});
+        GenericMethod method = new GenericMethod(m, sut);
+        testFactory.addMethod(test, method, 11, 0);
+
+        for (int i = 12; i < 15; i++) {
+            IntPrimitiveStatement ips = new IntPrimitiveStatement(test, i);
+            test.addStatement(ips, i);
+        }
+        testFactory.addMethod(test, method, 15, 0);
+
+        TestSuiteChromosome tsc = new TestSuiteChromosome();
+        tsc.addTest(test);
+        return tsc;
+    }
+
+    @Test
+    public void minimizeSuiteSameOutputWithoutSkippingCoincidentalGoals() throws ClassNotFoundException, NoSuchMethodException, SecurityException, ConstructionFailedException {
+        Properties.TARGET_CLASS = FlagExample1.class.getCanonicalName();
+        Properties.MINIMIZE_SECOND_PASS = false;
+        Properties.CALL_PROBABILITY = 1.0; // do not merge tests that are prefixes of each other
+
+        List<TestFitnessFactory<? extends TestFitnessFunction>> factories = new ArrayList<>();
+        factories.add(new BranchCoverageFactory());
+
+        TestSuiteChromosome skipping = createFlagExample1Suite();
+        TestSuiteChromosome tsc = createFlagExample1Suite();
+
+        TestSuiteFitnessFunction branch = new BranchCoverageSuiteFitness();
+        skipping.setFitness(branch, branch.getFitness(skipping));
+        double previous_branch_fitness = branch.getFitness(tsc);
+        tsc.setFitness(branch, previous_branch_fitness);
+        assertEquals(0.0, previous_branch_fitness, 0.0);
+
+        Properties.MINIMIZE_SKIP_COINCIDENTAL = true;
+        new TestSuiteMinimizer(factories).minimize(skipping, true);
+
+        Properties.MINIMIZE_SKIP_COINCIDENTAL = false;
+        new TestSuiteMinimizer(factories).minimize(tsc, true);
+
+        // goals covered by an earlier minimized test are skipped either way
+        assertEquals(skipping.getTests().size(), tsc.getTests().size());
+        for (int i = 0; i < tsc.getTests().size(); i++) {
+            assertEquals(skipping.getTests().get(i).toCode(), tsc.getTests().get(i).toCode());
+        }
+
+        double branch_fitness = branch.getFitness(tsc);
+        assertEquals(previous_branch_fitness, branch_fitness, 0.0);
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils.generic;
+
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import static org.junit.Assert.*;
+
+public class ExecutableInvokerTest {
+
+    public static class Target {
+
+        private final int value;
+
+        public Target(int value) {
+            this.value = value;
+        }
+
+        public int add(int x) {
+            return value + x;
+        }
+
+        public static long twice(long x) {
+            return 2 * x;
+        }
+
+        public static String join(String... parts) {
+            return String.join(",", parts);
+        }
+
+        public void fail() {
+            throw new IllegalStateException("fail");
+        }
+
+        private int secret() {
+            return value;
+        }
+    }
+
+    public static abstract class AbstractTarget {
+        public AbstractTarget() {
+        }
+    }
+
+    @Test
+    public void testInstanceMethod() throws Exception {
+        Method add = Target.class.getMethod("add", int.class);
+        assertEquals(5, ExecutableInvoker.invoke(add, new Target(2), new Object[]{3}));
+    }
+
+    @Test
+    public void testWideningFallsBackToReflection() throws Exception {
+        Method twice = Target.class.getMethod("twice", long.class);
+        assertEquals(4L, ExecutableInvoker.invoke(twice, null, new Object[]{2L}));
+        assertEquals(6L, ExecutableInvoker.invoke(twice, null, new Object[]{3}));
+    }
+
+    @Test
+    public void testVarargsArePassedAsArray() throws Exception {
+        Method join = Target.class.getMethod("join", String[].class);
+        assertEquals("a,b", ExecutableInvoker.invoke(join, null, new Object[]{new String[]{"a", "b"}}));
+    }
+
+    @Test
+    public void testVoidMethodAndException() throws Exception {
+        Method fail = Target.class.getMethod("fail");
+        try {
+            ExecutableInvoker.invoke(fail, new Target(0), new Object[0]);
+            fail();
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullPrimitiveFallsBackToReflection() throws Exception {
+        Method add = Target.class.getMethod("add", int.class);
+        ExecutableInvoker.invoke(add, new Target(2), new Object[]{null});
+    }
+
+    @Test(expected = IllegalAccessException.class)
+    public void testInaccessibleMethodFallsBackToReflection() throws Exception {
+        Method secret = Target.class.getDeclaredMethod("secret");
+        ExecutableInvoker.invoke(secret, new Target(2), new Object[0]);
+    }
+
+    @Test
+    public void testAccessibleMethod() throws Exception {
+        Method secret = Target.class.getDeclaredMethod("secret");
+        secret.setAccessible(true);
+        assertEquals(7, ExecutableInvoker.invoke(secret, new Target(7), new Object[0]));
+    }
+
+    @Test
+    public void testConstructor() throws Exception {
+        Constructor<Target> constructor = Target.class.getConstructor(int.class);
+        Object target = ExecutableInvoker.newInstance(constructor, new Object[]{4});
+        assertEquals(4, ((Target) target).value);
+    }
+
+    @Test(expected = InstantiationException.class)
+    public void testAbstractConstructor() throws Exception {
+        Constructor<AbstractTarget> constructor = AbstractTarget.class.getConstructor();
+        ExecutableInvoker.newInstance(constructor, new Object[0]);
+    }
+}
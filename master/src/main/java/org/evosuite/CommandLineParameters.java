@@ -64,6 +64,14 @@ public class CommandLineParameters {
             }
         }
 
+        if (line.hasOption(ParallelClassGeneration.NAME)) {
+            if (!line.hasOption("prefix") && !line.hasOption("target")) {
+                throw new IllegalArgumentException("Option -" + ParallelClassGeneration.NAME
+                        + " is only valid together with -prefix or -target");
+            }
+            ParallelClassGeneration.getNumberOfParallelClasses(line);
+        }
+
         if (!line.hasOption(Continuous.NAME) && !line.hasOption("startedByCtg")) {
             for (Object p : properties.keySet()) {
                 if (p.toString().startsWith("ctg_")) {
@@ -95,6 +103,7 @@ public class CommandLineParameters {
         Option printStats = PrintStats.getOption();
         Option listParameters = ListParameters.getOption();
         Option continuous = Continuous.getOption();
+        Option parallelClasses = ParallelClassGeneration.getOption();
 
         Option[] generateOptions = TestGeneration.getOptions();
 
@@ -160,6 +169,7 @@ public class CommandLineParameters {
         options.addOption(heapDump);
         options.addOption(startedByCtg);
         options.addOption(parallel);
+        options.addOption(parallelClasses);
 
         return options;
     }
@@ -321,6 +321,7 @@ public class JobHandler extends Thread {
 
         commands.add("-Dreport_dir=" + reports.getAbsolutePath() + File.separator + job.cut);
         commands.add("-Dtest_dir=" + tests.getAbsolutePath());
+        commands.add("-Dclasspath_index_dir=" + StorageManager.getClassPathIndexFolder().getAbsolutePath());
 
         if (Properties.CTG_SCHEDULE == Properties.AvailableSchedule.SEEDING
                 || Properties.CTG_SCHEDULE == Properties.AvailableSchedule.BUDGET_AND_SEEDING
@@ -142,6 +142,14 @@ public class StorageManager {
         return new File(new File(Properties.CTG_DIR), "evosuite-" + Properties.CTG_SEEDS_DIR_NAME);
     }
 
+    /**
+     * Folder of the classpath index, which is kept across CTG runs and
+     * shared by all the jobs of a run
+     */
+    public static File getClassPathIndexFolder() {
+        return new File(new File(Properties.CTG_DIR), Properties.CTG_CLASSPATH_INDEX_DIR_NAME);
+    }
+
     /**
      * Create a new tmp folder for this CTG session
      *
@@ -0,0 +1,350 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.executionmode;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+import org.apache.commons.io.FileUtils;
+import org.evosuite.EvoSuite;
+import org.evosuite.Properties;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.result.TestGenerationResult;
+import org.evosuite.result.TestGenerationResultBuilder;
+import org.evosuite.runtime.util.JarPathing;
+import org.evosuite.runtime.util.JavaExecCmdUtil;
+import org.evosuite.statistics.backend.CSVStatisticsBackend;
+import org.evosuite.utils.LoggingUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Generates tests for several classes at the same time, as used by
+ * <code>-prefix</code> and <code>-target</code> runs with
+ * <code>-parallel_classes N</code>.
+ *
+ * <p>
+ * The master keeps its RMI services, statistics and target class in
+ * process-wide singletons, so a single master can only handle one class at
+ * a time. Each class is therefore given to its own master process (as done
+ * for CTG jobs), which starts its clients on its own free RMI and logging
+ * ports. Each child writes its reports to a private folder; these are merged
+ * into the report folder of this process on the calling thread, once the
+ * child is finished.
+ */
+public class ParallelClassGeneration {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelClassGeneration.class);
+
+    public static final String NAME = "parallel_classes";
+
+    private static final String STATISTICS_FILE = "statistics.csv";
+
+    /**
+     * Options of this process that must not be passed over to the child
+     * processes, as these handle a single class each, or as they are
+     * replaced with child-specific values
+     */
+    private static final Set<String> SKIPPED_OPTIONS = new HashSet<>(Arrays.asList(
+            "class", "prefix", "target", "projectCP", NAME));
+
+    private static final Set<String> SKIPPED_PROPERTIES = new HashSet<>(Arrays.asList(
+            "CP", "CP_file_path", "report_dir"));
+
+    private static final Set<Process> runningProcesses = ConcurrentHashMap.newKeySet();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for (Process process : runningProcesses) {
+                process.destroy();
+            }
+        }));
+    }
+
+    public static Option getOption() {
+        return new Option(NAME, true, "number of classes to generate tests for concurrently, " +
+                "each in its own process, when using -prefix or -target");
+    }
+
+    /**
+     * Return the number of classes to handle concurrently, as specified with
+     * <code>-parallel_classes</code>
+     *
+     * @param line
+     * @return 1 if the option is not used
+     * @throws IllegalArgumentException if the value is not a positive number
+     */
+    public static int getNumberOfParallelClasses(CommandLine line) throws IllegalArgumentException {
+        if (!line.hasOption(NAME)) {
+            return 1;
+        }
+
+        String value = line.getOptionValue(NAME);
+        int n;
+        try {
+            n = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for -" + NAME + ": " + value);
+        }
+        if (n < 1) {
+            throw new IllegalArgumentException("The value of -" + NAME + " should be positive, but it is " + n);
+        }
+        return n;
+    }
+
+    /**
+     * Generate tests for all the given classes, with at most
+     * <code>parallelClasses</code> of them handled at the same time.
+     *
+     * @param classes         the classes under test
+     * @param args            the options for the clients, as collected by this master
+     * @param line            the command line of this master
+     * @param parallelClasses the maximum number of concurrent child processes
+     * @return one result per class, in the order in which they finished
+     */
+    public static List<List<TestGenerationResult>> generateTests(List<String> classes, List<String> args,
+                                                                 CommandLine line, int parallelClasses) {
+        List<List<TestGenerationResult>> results = new ArrayList<>();
+        if (classes.isEmpty()) {
+            return results;
+        }
+
+        List<String> commonArgs = getChildArguments(args, line);
+
+        int threads = Math.min(parallelClasses, classes.size());
+        LoggingUtils.getEvoLogger().info("* Generating tests for " + classes.size()
+                + " classes, " + threads + " at a time");
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CompletionService<ChildRun> completionService = new ExecutorCompletionService<>(executor);
+        try {
+            for (String sut : classes) {
+                completionService.submit(() -> run(sut, commonArgs));
+            }
+
+            /*
+             * Reports and results are only handled on this thread, so the
+             * statistics file and the (static) result builder are never
+             * accessed concurrently
+             */
+            for (int i = 1; i <= classes.size(); i++) {
+                ChildRun run;
+                try {
+                    run = completionService.take().get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (ExecutionException e) {
+                    logger.error("Failed to run child process: " + e.getCause(), e.getCause());
+                    continue;
+                }
+
+                LoggingUtils.getEvoLogger().info("* Finished class " + run.sut
+                        + " (" + i + "/" + classes.size() + ")");
+                results.add(Collections.singletonList(handleFinishedRun(run)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return results;
+    }
+
+    static List<String> getChildArguments(List<String> args, CommandLine line) {
+        List<String> commands = new ArrayList<>();
+        commands.add(JavaExecCmdUtil.getJavaBinExecutablePath(true));
+
+        String classPath = ClassPathHandler.getInstance().getEvoSuiteClassPath();
+        String projectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
+        commands.add("-cp");
+        commands.add(JarPathing.createJarPathing(classPath + File.pathSeparator + projectCP));
+
+        /*
+         * Actual call to EvoSuite. "Commands" before this line will be applied
+         * to the spawn process, whereas the ones after will be its input parameters
+         */
+        commands.add(EvoSuite.class.getName());
+
+        for (Option option : line.getOptions()) {
+            String name = option.getOpt();
+            if (name.equals("D") || SKIPPED_OPTIONS.contains(name)) {
+                continue;
+            }
+            commands.add("-" + name);
+            if (option.hasArg()) {
+                commands.addAll(Arrays.asList(option.getValues()));
+            }
+        }
+
+        java.util.Properties properties = line.getOptionProperties("D");
+        for (String propertyName : properties.stringPropertyNames()) {
+            if (!SKIPPED_PROPERTIES.contains(propertyName)) {
+                commands.add("-D" + propertyName + "=" + properties.getProperty(propertyName));
+            }
+        }
+
+        // e.g., the inheritance tree computed once by this process for all the classes
+        for (String arg : args) {
+            if (arg.startsWith("-Dinheritance_file=")) {
+                commands.add(arg);
+            }
+        }
+
+        // might be too long for the command line on Windows
+        commands.add("-DCP_file_path=" + ClassPathHandler.writeClasspathToFile(projectCP));
+
+        return commands;
+    }
+
+    /**
+     * Run the child process for the given class, and wait for it to finish.
+     * The folder of the child is deleted here if the child cannot be run,
+     * and otherwise once its reports are merged.
+     */
+    static ChildRun run(String sut, List<String> commonArgs) throws IOException, InterruptedException {
+        File dir = Files.createTempDirectory("EvoSuite_" + sut + "_").toFile();
+        try {
+            return run(sut, commonArgs, dir);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            FileUtils.deleteQuietly(dir);
+            throw e;
+        }
+    }
+
+    private static ChildRun run(String sut, List<String> commonArgs, File dir) throws IOException, InterruptedException {
+        File reportDir = new File(dir, "report");
+        File log = new File(dir, "master.log");
+
+        List<String> commands = new ArrayList<>(commonArgs);
+        commands.add("-class");
+        commands.add(sut);
+        commands.add("-Dreport_dir=" + reportDir.getAbsolutePath());
+
+        ProcessBuilder builder = new ProcessBuilder(commands);
+        builder.directory(new File(System.getProperty("user.dir")));
+        builder.redirectErrorStream(true);
+        builder.redirectOutput(log);
+
+        LoggingUtils.getEvoLogger().info("* Going to start process for class: " + sut);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Commands: " + String.join(" ", commands));
+        }
+
+        Process process = builder.start();
+        runningProcesses.add(process);
+        try {
+            int exitCode = process.waitFor(); //timeouts are handled by the child itself
+            return new ChildRun(sut, exitCode, dir);
+        } catch (InterruptedException e) {
+            process.destroy();
+            throw e;
+        } finally {
+            runningProcesses.remove(process);
+        }
+    }
+
+    private static TestGenerationResult handleFinishedRun(ChildRun run) {
+        File reportDir = new File(run.dir, "report");
+        File statistics = new File(reportDir, STATISTICS_FILE);
+        boolean hasStatistics = statistics.exists();
+
+        try {
+            if (reportDir.exists()) {
+                mergeReports(reportDir);
+            }
+            if (run.exitCode != 0 || !hasStatistics) {
+                String output = FileUtils.readFileToString(new File(run.dir, "master.log"), Charset.defaultCharset());
+                logger.warn("Process for class " + run.sut + " ended with exit code " + run.exitCode
+                        + "\nProcess console output:\n" + output);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to collect the reports of class " + run.sut + ": " + e.getMessage());
+        } finally {
+            FileUtils.deleteQuietly(run.dir);
+        }
+
+        Properties.TARGET_CLASS = run.sut;
+        if (run.exitCode != 0) {
+            return TestGenerationResultBuilder.buildErrorResult("Process ended with exit code " + run.exitCode);
+        }
+        if (!hasStatistics && Properties.NEW_STATISTICS
+                && Properties.STATISTICS_BACKEND == Properties.StatisticsBackend.CSV) {
+            return TestGenerationResultBuilder.buildErrorResult("No statistics were written");
+        }
+        return TestGenerationResultBuilder.buildSuccessResult();
+    }
+
+    /**
+     * Move the reports of a child process into the report dir of this
+     * process. Rows of statistics are appended to the existing ones.
+     */
+    private static void mergeReports(File childReportDir) throws IOException {
+        File reportDir = CSVStatisticsBackend.getReportDir();
+
+        File[] files = childReportDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.getName().equals(STATISTICS_FILE)) {
+                appendStatistics(file, new File(reportDir, STATISTICS_FILE));
+            } else if (file.isDirectory()) {
+                FileUtils.copyDirectory(file, new File(reportDir, file.getName()));
+            } else {
+                FileUtils.copyFileToDirectory(file, reportDir);
+            }
+        }
+    }
+
+    static void appendStatistics(File from, File to) throws IOException {
+        List<String> lines = FileUtils.readLines(from, Charset.defaultCharset());
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(to, true))) {
+            // the header is only written once, as in CSVStatisticsBackend
+            int first = to.length() == 0L ? 0 : 1;
+            for (String line : lines.subList(first, lines.size())) {
+                out.write(line + "\n");
+            }
+        }
+    }
+
+    static class ChildRun {
+        private final String sut;
+        private final int exitCode;
+        private final File dir;
+
+        private ChildRun(String sut, int exitCode, File dir) {
+            this.sut = sut;
+            this.exitCode = exitCode;
+            this.dir = dir;
+        }
+    }
+}
@@ -82,10 +82,10 @@ public class TestGeneration {
         if (line.hasOption("class")) {
             results.addAll(generateTests(strategy, line.getOptionValue("class"), javaOpts));
         } else if (line.hasOption("prefix")) {
-            results.addAll(generateTestsPrefix(strategy, line.getOptionValue("prefix"), javaOpts));
+            results.addAll(generateTestsPrefix(strategy, line.getOptionValue("prefix"), javaOpts, line));
         } else if (line.hasOption("target")) {
             String target = line.getOptionValue("target");
-            results.addAll(generateTestsTarget(strategy, target, javaOpts));
+            results.addAll(generateTestsTarget(strategy, target, javaOpts, line));
         } else if (EvoSuite.hasLegacyTargets()) {
             results.addAll(generateTestsLegacy(strategy, javaOpts));
         } else {
@@ -157,7 +157,7 @@ public class TestGeneration {
     }
 
     private static List<List<TestGenerationResult>> generateTestsPrefix(Properties.Strategy strategy, String prefix,
-                                                                        List<String> args) {
+                                                                        List<String> args, CommandLine line) {
         List<List<TestGenerationResult>> results = new ArrayList<>();
 
         String cp = ClassPathHandler.getInstance().getTargetProjectClasspath();
@@ -183,6 +183,12 @@ public class TestGeneration {
         LoggingUtils.getEvoLogger().info("* Found " + classes.size()
                 + " matching classes for prefix "
                 + prefix);
+        results.addAll(generateTests(strategy, getClassesToTest(classes), args, line));
+        return results;
+    }
+
+    private static List<String> getClassesToTest(Set<String> classes) {
+        List<String> suts = new ArrayList<>();
         for (String sut : classes) {
             try {
                 if (ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).isClassAnInterface(sut)) {
@@ -193,6 +199,24 @@ public class TestGeneration {
                 LoggingUtils.getEvoLogger().info("Could not load class: " + sut);
                 continue;
             }
+            suts.add(sut);
+        }
+        return suts;
+    }
+
+    /**
+     * Generate tests for each of the given classes, either one after the
+     * other, or in separate processes if <code>-parallel_classes</code> is used
+     */
+    private static List<List<TestGenerationResult>> generateTests(Properties.Strategy strategy, List<String> classes,
+                                                                  List<String> args, CommandLine line) {
+        int parallelClasses = ParallelClassGeneration.getNumberOfParallelClasses(line);
+        if (parallelClasses > 1) {
+            return ParallelClassGeneration.generateTests(classes, args, line, parallelClasses);
+        }
+
+        List<List<TestGenerationResult>> results = new ArrayList<>();
+        for (String sut : classes) {
             LoggingUtils.getEvoLogger().info("* Current class: " + sut);
             results.addAll(generateTests(strategy, sut, args));
         }
@@ -619,7 +643,7 @@ public class TestGeneration {
 
 
     private static List<List<TestGenerationResult>> generateTestsTarget(Properties.Strategy strategy, String target,
-                                                                        List<String> args) {
+                                                                        List<String> args, CommandLine line) {
         List<List<TestGenerationResult>> results = new ArrayList<>();
         String cp = ClassPathHandler.getInstance().getTargetProjectClasspath();
 
@@ -643,19 +667,7 @@ public class TestGeneration {
             return results;
         }
 
-        for (String sut : classes) {
-            try {
-                if (ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).isClassAnInterface(sut)) {
-                    LoggingUtils.getEvoLogger().info("* Skipping interface: " + sut);
-                    continue;
-                }
-            } catch (IOException e) {
-                LoggingUtils.getEvoLogger().info("Could not load class: " + sut);
-                continue;
-            }
-            LoggingUtils.getEvoLogger().info("* Current class: " + sut);
-            results.addAll(generateTests(strategy, sut, args));
-        }
+        results.addAll(generateTests(strategy, getClassesToTest(classes), args, line));
 
         return results;
     }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.executionmode;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.GnuParser;
+import org.apache.commons.cli.ParseException;
+import org.apache.commons.io.FileUtils;
+import org.evosuite.CommandLineParameters;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParallelClassGenerationTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static CommandLine parse(String... args) throws ParseException {
+        return new GnuParser().parse(CommandLineParameters.getCommandLineOptions(), args);
+    }
+
+    @Test
+    public void testChildArgumentsSkipOptionsOfTheParentRun() throws ParseException {
+        CommandLine line = parse("-prefix", "com.foo", "-parallel_classes", "2", "-projectCP", "foo.jar",
+                "-criterion", "branch", "-Dsearch_budget=10", "-Dreport_dir=bar", "-DCP=foo.jar");
+        List<String> args = Arrays.asList("-Dinheritance_file=tree.xml", "-Dsearch_budget=10");
+
+        List<String> commands = ParallelClassGeneration.getChildArguments(args, line);
+
+        assertTrue(commands.contains("-criterion"));
+        assertEquals("branch", commands.get(commands.indexOf("-criterion") + 1));
+        assertTrue(commands.contains("-Dsearch_budget=10"));
+        assertEquals(1, Collections.frequency(commands, "-Dsearch_budget=10"));
+        assertTrue(commands.contains("-Dinheritance_file=tree.xml"));
+
+        assertFalse(commands.contains("-prefix"));
+        assertFalse(commands.contains("com.foo"));
+        assertFalse(commands.contains("-" + ParallelClassGeneration.NAME));
+        assertFalse(commands.contains("-projectCP"));
+        assertFalse(commands.contains("-Dreport_dir=bar"));
+        assertFalse(commands.contains("-DCP=foo.jar"));
+        assertTrue(commands.stream().anyMatch(c -> c.startsWith("-DCP_file_path=")));
+    }
+
+    @Test
+    public void testStatisticsHeaderIsWrittenOnce() throws IOException {
+        File first = folder.newFile("first.csv");
+        File second = folder.newFile("second.csv");
+        File merged = new File(folder.getRoot(), "statistics.csv");
+        FileUtils.writeLines(first, Arrays.asList("TARGET_CLASS,Coverage", "com.foo.A,0.5"));
+        FileUtils.writeLines(second, Arrays.asList("TARGET_CLASS,Coverage", "com.foo.B,1.0"));
+
+        ParallelClassGeneration.appendStatistics(first, merged);
+        ParallelClassGeneration.appendStatistics(second, merged);
+
+        assertEquals(Arrays.asList("TARGET_CLASS,Coverage", "com.foo.A,0.5", "com.foo.B,1.0"),
+                FileUtils.readLines(merged, Charset.defaultCharset()));
+    }
+
+    @Test
+    public void testEmptyStatisticsAreIgnored() throws IOException {
+        File empty = folder.newFile("empty.csv");
+        File merged = new File(folder.getRoot(), "statistics.csv");
+
+        ParallelClassGeneration.appendStatistics(empty, merged);
+
+        assertFalse(merged.exists());
+    }
+
+    @Test
+    public void testParallelClassesRequiresPrefixOrTarget() throws ParseException {
+        try {
+            CommandLineParameters.validateInputOptionsAndParameters(
+                    parse("-class", "com.foo.A", "-parallel_classes", "2"));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(ParallelClassGeneration.NAME));
+        }
+
+        CommandLineParameters.validateInputOptionsAndParameters(parse("-prefix", "com.foo", "-parallel_classes", "2"));
+        CommandLineParameters.validateInputOptionsAndParameters(parse("-target", "foo.jar", "-parallel_classes", "2"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParallelClassesMustBePositive() throws ParseException {
+        CommandLineParameters.validateInputOptionsAndParameters(parse("-prefix", "com.foo", "-parallel_classes", "0"));
+    }
+
+    @Test
+    public void testFolderIsDeletedIfChildCannotBeStarted() throws InterruptedException {
+        String sut = "com.foo.NotStarted" + System.nanoTime();
+        File missing = new File(folder.getRoot(), "missing_java");
+        try {
+            ParallelClassGeneration.run(sut, Collections.singletonList(missing.getAbsolutePath()));
+            fail();
+        } catch (IOException e) {
+            // expected
+        }
+
+        File[] leftovers = new File(System.getProperty("java.io.tmpdir"))
+                .listFiles((dir, name) -> name.startsWith("EvoSuite_" + sut + "_"));
+        assertEquals(0, leftovers.length);
+    }
+}
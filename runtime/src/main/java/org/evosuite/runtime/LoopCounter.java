@@ -19,8 +19,9 @@
  */
 package org.evosuite.runtime;
 
-import java.util.ArrayList;
-import java.util.List;
+import org.evosuite.runtime.classhandling.StaticInitializerDepth;
+
+import java.util.Arrays;
 
 /**
  * In some cases, we can end up with infinite loops: eg due to a bug, a seeded mutation,
@@ -35,18 +36,34 @@ import java.util.List;
  */
 public class LoopCounter {
 
+    private static final int INITIAL_CAPACITY = 128;
+
     private static final LoopCounter singleton = new LoopCounter();
 
     private boolean activated = true;
 
     /**
-     * Number of iterations so far
+     * Number of iterations so far, indexed by loop index
      */
-    private final List<Long> counters;
+    private long[] counters;
+
+    /**
+     * Indices of the counters that are non-zero, so that a reset does
+     * not need to go through all the loops of all the instrumented classes
+     */
+    private int[] touched;
+
+    private int numberOfTouched = 0;
+
+    /**
+     * Number of loop indices handed out during instrumentation so far
+     */
+    private int numberOfIndices = 0;
 
 
     private LoopCounter() {
-        counters = new ArrayList<>();
+        counters = new long[INITIAL_CAPACITY];
+        touched = new int[INITIAL_CAPACITY];
     }
 
     public static LoopCounter getInstance() {
@@ -54,7 +71,15 @@ public class LoopCounter {
     }
 
     public void reset() {
-        counters.clear();
+        long[] c = counters;
+        int n = Math.min(numberOfTouched, touched.length);
+        for (int i = 0; i < n; i++) {
+            int index = touched[i];
+            if (index < c.length) {
+                c[index] = 0L;
+            }
+        }
+        numberOfTouched = 0;
     }
 
     public void setActive(boolean active) {
@@ -67,14 +92,30 @@ public class LoopCounter {
 
     /**
      * This is called during bytecode instrumentation to determine which index
-     * to assign to a new parsed loop
+     * to assign to a new parsed loop. The storage for the new indices is only
+     * allocated with {@link #ensureCapacity()}, once per instrumented class.
      *
      * @return the next valid index for a new loop
      */
     public int getNewIndex() {
-        int index = counters.size();
-        counters.add(0L);
-        return index;
+        return numberOfIndices++;
+    }
+
+    /**
+     * This is called at the end of the instrumentation of a class, to allocate
+     * the counters for all the loop indices that were handed out for it
+     */
+    public void ensureCapacity() {
+        ensureCapacity(numberOfIndices);
+    }
+
+    private long[] ensureCapacity(int capacity) {
+        long[] c = counters;
+        if (capacity > c.length) {
+            c = Arrays.copyOf(c, Math.max(capacity, c.length * 2));
+            counters = c;
+        }
+        return c;
     }
 
 
@@ -98,34 +139,43 @@ public class LoopCounter {
             return; //do nothing, no check
         }
 
-        //first check initialization
-        int size = counters.size();
-        if (index >= size) {
-            for (int i = 0; i < 1 + (index - size); i++) {
-                counters.add(0L);
-            }
+        //first check initialization, eg for indices not handed out by getNewIndex
+        long[] c = counters;
+        if (index >= c.length) {
+            c = ensureCapacity(index + 1);
         }
-        assert index < counters.size();
 
         //do increment
-        try {
-            long value = counters.get(index) + 1L;
-            counters.set(index, value);
-
-            if (value >= RuntimeSettings.maxNumberOfIterationsPerLoop && !isInStaticInit()) {
-                this.reset();
-                throw new TooManyResourcesException("Loop has been executed more times than the allowed " +
-                        RuntimeSettings.maxNumberOfIterationsPerLoop);
-            }
-        } catch (NullPointerException e) {
-            // Some weird Java internal NPE can happen:
-            // https://github.com/EvoSuite/evosuite/issues/143
-            // Seems safe to swallow this instead of crashing EvoSuite
+        long value = ++c[index];
+        if (value == 1L) {
+            addTouched(index);
         }
+
+        if (value >= RuntimeSettings.maxNumberOfIterationsPerLoop && !isInStaticInit()) {
+            this.reset();
+            throw new TooManyResourcesException("Loop has been executed more times than the allowed " +
+                    RuntimeSettings.maxNumberOfIterationsPerLoop);
+        }
+    }
+
+    private void addTouched(int index) {
+        int[] t = touched;
+        int n = numberOfTouched;
+        if (n >= t.length) {
+            t = Arrays.copyOf(t, Math.max(n + 1, t.length * 2));
+            touched = t;
+        }
+        t[n] = index;
+        numberOfTouched = n + 1;
     }
 
 
     private boolean isInStaticInit() {
+        // cheap check for instrumented static initializers, which would
+        // otherwise require a stack walk on each further loop iteration
+        if (StaticInitializerDepth.isInStaticInit())
+            return true;
+
         for (StackTraceElement elem : new Throwable().getStackTrace()) {
             if (elem.getMethodName().startsWith("<clinit>"))
                 return true;
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.classhandling;
+
+/**
+ * Keeps track, for each thread, of how many instrumented static initializers
+ * ({@code <clinit>}) are currently being executed.
+ *
+ * <p>
+ * The counter is maintained by callbacks that the instrumentation inserts at
+ * the entry and at every exit (normal or exceptional) of {@code <clinit>}.
+ * This allows timeout and loop checks to know in constant time whether they
+ * are running inside a static initializer, which they must not abort. Static
+ * initializers that are not instrumented (e.g., JDK classes) are not counted,
+ * so a depth of 0 does not guarantee that no {@code <clinit>} is on the stack.
+ */
+public class StaticInitializerDepth {
+
+    private static final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    private StaticInitializerDepth() {
+    }
+
+    /**
+     * Called when an instrumented static initializer starts
+     */
+    public static void enter() {
+        depth.get()[0]++;
+    }
+
+    /**
+     * Called when an instrumented static initializer ends, either normally or
+     * with an exception
+     */
+    public static void exit() {
+        int[] current = depth.get();
+        if (current[0] > 0) {
+            current[0]--;
+        }
+    }
+
+    /**
+     * @return true if the current thread is executing an instrumented static
+     * initializer
+     */
+    public static boolean isInStaticInit() {
+        return depth.get()[0] > 0;
+    }
+}
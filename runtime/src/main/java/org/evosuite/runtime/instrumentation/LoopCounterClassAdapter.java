@@ -19,6 +19,7 @@
  */
 package org.evosuite.runtime.instrumentation;
 
+import org.evosuite.runtime.LoopCounter;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
@@ -52,4 +53,11 @@ public class LoopCounterClassAdapter extends ClassVisitor {
 
         return new LoopCounterMethodAdapter(mv, name, desc);
     }
+
+    @Override
+    public void visitEnd() {
+        // allocate the counters for all the loops of this class at once
+        LoopCounter.getInstance().ensureCapacity();
+        super.visitEnd();
+    }
 }
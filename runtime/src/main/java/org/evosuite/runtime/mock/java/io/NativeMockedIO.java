@@ -60,6 +60,28 @@ public class NativeMockedIO {
 		return b; 
 	}
 
+
+	/**
+	 * Read up to {@code len} bytes in a single bulk operation
+	 *
+	 * @return the number of bytes read, or -1 if the end of the file was reached
+	 */
+	public static int readBytes(String path, AtomicInteger position, byte[] b, int off, int len) throws IOException{
+		VFile vf = NativeMockedIO.getFileForReading(path);
+		if(vf==null){
+			throw new MockIOException();
+		}
+
+		VirtualFileSystem.getInstance().throwSimuledIOExceptionIfNeeded(path);
+
+		int n = vf.read(position.get(), b, off, len);
+		if(n > 0){
+			position.addAndGet(n);
+		}
+
+		return n;
+	}
+
 	
 	public static VFile getFileForWriting(String path){
 		FSObject target = VirtualFileSystem.getInstance().findFSObject(path);
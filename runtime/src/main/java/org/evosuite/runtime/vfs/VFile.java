@@ -19,8 +19,7 @@
  */
 package org.evosuite.runtime.vfs;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Representation of a virtual file
@@ -29,46 +28,56 @@ import java.util.List;
  */
 public class VFile extends FSObject {
 
+    private static final byte[] EMPTY = new byte[0];
+
+    private static final int MIN_CAPACITY = 256;
+
     /**
-     * the actual data contained in file as a list of bytes
+     * the actual data contained in file. Only the first {@code size} bytes are valid
      */
-    private final List<Byte> data;
+    private byte[] data;
+
+    /**
+     * the number of bytes in the file
+     */
+    private int size;
 
     public VFile(String path, VFolder parent) {
         super(path, parent);
 
         //TODO might need a better type of data structure supporting multi-threading
-        data = new ArrayList<>(1024);
+        data = EMPTY;
+        size = 0;
     }
 
-    public void eraseData() {
-        data.clear();
+    public synchronized void eraseData() {
+        size = 0;
     }
 
     public synchronized int getDataSize() {
-        return data.size();
+        return size;
     }
 
+    private void ensureCapacity(int capacity) {
+        if (capacity > data.length) {
+            int newCapacity = Math.max(capacity, Math.max(MIN_CAPACITY, data.length * 2));
+            if (newCapacity < 0) { //overflow
+                newCapacity = Integer.MAX_VALUE;
+            }
+            data = Arrays.copyOf(data, newCapacity);
+        }
+    }
 
-    public synchronized void setLength(int newLength) {
-
-        /*
-         * Note: this implementation is not particularly efficient...
-         * but setLength is rarely called
-         */
 
-        while (newLength > data.size()) {
-            data.add((byte) 0);
-        }
+    public synchronized void setLength(int newLength) {
 
-        if (newLength == 0) {
-            data.clear();
-            return;
+        if (newLength > size) {
+            ensureCapacity(newLength);
+            //bytes beyond size might still contain old data
+            Arrays.fill(data, size, newLength, (byte) 0);
         }
 
-        while (data.size() > newLength) {
-            data.remove(data.size() - 1);
-        }
+        size = newLength;
     }
 
     /**
@@ -80,15 +89,34 @@ public class VFile extends FSObject {
             throw new IllegalArgumentException("Position in the file cannot be negative");
         }
 
-        if (position >= data.size()) {
+        if (position >= size) {
             return -1; //this represent the end of the stream
         }
 
-        return data.get(position) & 0xFF;
+        return data[position] & 0xFF;
+    }
+
+    /**
+     * Copy up to {@code len} bytes starting at {@code position} into {@code b}
+     *
+     * @return the number of bytes read, or -1 if {@code position} is at or after the end of the file
+     */
+    public synchronized int read(int position, byte[] b, int off, int len) throws IllegalArgumentException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Position in the file cannot be negative");
+        }
+
+        if (position >= size) {
+            return -1; //this represent the end of the stream
+        }
+
+        int n = Math.min(len, size - position);
+        System.arraycopy(data, position, b, off, n);
+        return n;
     }
 
     public synchronized int writeBytes(byte[] b, int off, int len) {
-        return writeBytes(data.size(), b, off, len);
+        return writeBytes(size, b, off, len);
     }
 
 
@@ -102,19 +130,15 @@ public class VFile extends FSObject {
             return 0;
         }
 
-        if (position >= data.size()) {
+        if (position >= size) {
             setLength(position);
         }
 
-        int written = 0;
-        for (int i = off; i < b.length & (i - off) < len; i++) {
-            if (position < data.size()) {
-                data.set(position, (b[i]));
-            } else {
-                data.add(b[i]);
-            }
-            position++;
-            written++;
+        int written = Math.max(0, Math.min(len, b.length - off));
+        if (written > 0) {
+            ensureCapacity(position + written);
+            System.arraycopy(b, off, data, position, written);
+            size = Math.max(size, position + written);
         }
 
         setLastModified(getCurrentTimeMillis());
@@ -126,6 +150,7 @@ public class VFile extends FSObject {
     @Override
     public synchronized boolean delete() {
         eraseData();
+        data = EMPTY;
         return super.delete();
     }
 }
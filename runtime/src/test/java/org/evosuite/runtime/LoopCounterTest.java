@@ -19,6 +19,7 @@
  */
 package org.evosuite.runtime;
 
+import org.evosuite.runtime.classhandling.StaticInitializerDepth;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -74,4 +75,47 @@ public class LoopCounterTest {
         LoopCounter.getInstance().checkLoop(5);
         LoopCounter.getInstance().checkLoop(6);
     }
+
+    @Test
+    public void testNoLimitInStaticInitializer() {
+        Assert.assertTrue(RuntimeSettings.maxNumberOfIterationsPerLoop > 0);
+
+        int index = LoopCounter.getInstance().getNewIndex();
+        StaticInitializerDepth.enter();
+        try {
+            for (long i = 0; i <= RuntimeSettings.maxNumberOfIterationsPerLoop; i++) {
+                LoopCounter.getInstance().checkLoop(index);
+            }
+        } finally {
+            StaticInitializerDepth.exit();
+        }
+        Assert.assertFalse(StaticInitializerDepth.isInStaticInit());
+
+        try {
+            LoopCounter.getInstance().checkLoop(index);
+            Assert.fail();
+        } catch (TooManyResourcesException e) {
+            //expected, as we are no longer in a static initializer
+        }
+    }
+
+    @Test
+    public void testResetClearsCounters() {
+        int index = LoopCounter.getInstance().getNewIndex();
+        LoopCounter.getInstance().ensureCapacity();
+        for (int k = 0; k < 3; k++) {
+            for (long i = 0; i < RuntimeSettings.maxNumberOfIterationsPerLoop - 1; i++) {
+                LoopCounter.getInstance().checkLoop(index);
+            }
+            LoopCounter.getInstance().reset();
+        }
+    }
+
+    @Test
+    public void testNewIndicesAreNotReusedAfterReset() {
+        int first = LoopCounter.getInstance().getNewIndex();
+        LoopCounter.getInstance().reset();
+        int second = LoopCounter.getInstance().getNewIndex();
+        Assert.assertNotEquals(first, second);
+    }
 }
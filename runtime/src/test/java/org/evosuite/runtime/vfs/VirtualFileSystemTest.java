@@ -252,4 +252,27 @@ public class VirtualFileSystemTest {
         Assert.assertFalse(folder.exists());
     }
 
+
+    @Test
+    public void testBulkReadWriteLargeFile() throws IOException {
+        File file = new MockFile("large.bin");
+        byte[] data = new byte[3 * 1024 * 1024 + 17];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+
+        MockFileOutputStream out = new MockFileOutputStream(file);
+        out.write(data, 0, 1000);
+        out.write(data, 1000, data.length - 1000);
+        out.close();
+        Assert.assertEquals(data.length, file.length());
+
+        MockFileInputStream in = new MockFileInputStream(file);
+        byte[] read = new byte[data.length + 100];
+        int n = in.read(read, 0, read.length);
+        Assert.assertEquals(data.length, n);
+        Assert.assertArrayEquals(data, Arrays.copyOf(read, n));
+        Assert.assertEquals(-1, in.read(read, 0, read.length));
+        in.close();
+    }
 }